@@ -0,0 +1,80 @@
+#!/bin/bash
+# Compara a vazão do backend com threads de plataforma (padrão) e com threads virtuais
+# (perfil virtual-threads). Requer: jar gerado (mvn package -DskipTests), curl, jq e hey
+# (https://github.com/rakyll/hey).
+#
+# Uso: ./compare-thread-modes.sh [requisições] [concorrência]
+# BASE_PROFILES escolhe o banco das duas execuções (padrão: H2 em memória). Para medir o ganho
+# das threads virtuais com espera real de I/O use BASE_PROFILES=postgres; o perfil h2file não é
+# aceito porque o driver do H2 prende as threads portadoras (ver application-virtual-threads.properties).
+
+set -e
+
+REQUESTS=${1:-5000}
+CONCURRENCY=${2:-200}
+BASE_PROFILES=${BASE_PROFILES:-default}
+PORT=18080
+BASE_URL="http://localhost:$PORT/api"
+JAR=$(ls target/backend-*.jar 2>/dev/null | head -n 1)
+
+if [ -z "$JAR" ]; then
+    echo "Jar não encontrado em target/. Execute: mvn package -DskipTests"
+    exit 1
+fi
+if [[ ",$BASE_PROFILES," == *",h2file,"* ]]; then
+    echo "BASE_PROFILES com h2file não é suportado com threads virtuais; use postgres"
+    exit 1
+fi
+for tool in curl jq hey; do
+    if ! command -v "$tool" > /dev/null; then
+        echo "Ferramenta necessária não encontrada: $tool"
+        exit 1
+    fi
+done
+
+run_mode() {
+    local label=$1
+    local profiles=$2
+
+    echo ""
+    echo "=== $label ==="
+    java -jar "$JAR" --server.port=$PORT --spring.profiles.active="$profiles" > "target/$label.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null" EXIT
+
+    for i in {1..60}; do
+        if curl -s "$BASE_URL/info/hostname" > /dev/null; then
+            break
+        fi
+        sleep 1
+    done
+
+    local token
+    token=$(curl -s -X POST "$BASE_URL/auth/register" \
+        -H "Content-Type: application/json" \
+        -d "{\"name\":\"Carga\",\"email\":\"carga-$label-$(date +%s)@example.com\",\"password\":\"senha123\"}" | jq -r '.token')
+
+    local signature_id
+    signature_id=$(curl -s -X POST "$BASE_URL/signatures/sign" \
+        -H "Content-Type: application/json" -H "Authorization: Bearer $token" \
+        -d '{"text":"Documento de carga"}' | jq -r '.signatureId')
+
+    echo "--- GET /verify/{id} ---"
+    hey -n "$REQUESTS" -c "$CONCURRENCY" "$BASE_URL/verify/$signature_id" | grep -E "Requests/sec|Average|99%|\[2..\]|\[[45]..\]"
+
+    echo "--- POST /signatures/sign ---"
+    hey -n "$REQUESTS" -c "$CONCURRENCY" -m POST \
+        -H "Authorization: Bearer $token" -T "application/json" \
+        -d '{"text":"Documento de carga"}' \
+        "$BASE_URL/signatures/sign" | grep -E "Requests/sec|Average|99%|\[2..\]|\[[45]..\]"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run_mode "platform-threads" "$BASE_PROFILES"
+run_mode "virtual-threads" "$BASE_PROFILES,virtual-threads"
+
+echo ""
+echo "Logs de cada execução em target/platform-threads.log e target/virtual-threads.log"
@@ -0,0 +1,97 @@
+package com.assinaaqui.backend.benchmark;
+
+import com.assinaaqui.backend.service.CryptographyService;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a criação de motores JCA a cada chamada (comportamento original) com o pool do
+ * CryptographyService. As chaves são decodificadas antes da medição para isolar o custo do motor.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class CryptoEngineBenchmark {
+
+    private CryptographyService cryptographyService;
+    private String privateKeyBase64;
+    private String publicKeyBase64;
+    private PrivateKey privateKey;
+    private PublicKey publicKey;
+    private String text;
+    private String hash;
+    private String signature;
+
+    @Setup
+    public void setUp() {
+        cryptographyService = new CryptographyService();
+        Map<String, String> keyPair = cryptographyService.generateKeyPair();
+        privateKeyBase64 = keyPair.get("privateKey");
+        publicKeyBase64 = keyPair.get("publicKey");
+        privateKey = cryptographyService.parsePrivateKey(privateKeyBase64);
+        publicKey = cryptographyService.parsePublicKey(publicKeyBase64);
+
+        text = "Contrato de prestação de serviços entre as partes.".repeat(20);
+        hash = cryptographyService.calculateSHA256Hash(text);
+        signature = cryptographyService.signHash(hash, privateKeyBase64);
+    }
+
+    @Benchmark
+    public String digestPerCall() throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] hashBytes = digest.digest(text.getBytes(StandardCharsets.UTF_8));
+
+        StringBuilder hexString = new StringBuilder();
+        for (byte b : hashBytes) {
+            String hex = Integer.toHexString(0xff & b);
+            if (hex.length() == 1) {
+                hexString.append('0');
+            }
+            hexString.append(hex);
+        }
+        return hexString.toString();
+    }
+
+    @Benchmark
+    public String digestPooled() {
+        return cryptographyService.calculateSHA256Hash(text);
+    }
+
+    @Benchmark
+    public String signPerCall() throws Exception {
+        Signature engine = Signature.getInstance("SHA256withRSA");
+        engine.initSign(privateKey);
+        engine.update(hash.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(engine.sign());
+    }
+
+    @Benchmark
+    public String signPooled() {
+        return cryptographyService.signHash(hash, privateKeyBase64);
+    }
+
+    @Benchmark
+    public boolean verifyPerCall() throws Exception {
+        Signature engine = Signature.getInstance("SHA256withRSA");
+        engine.initVerify(publicKey);
+        engine.update(hash.getBytes(StandardCharsets.UTF_8));
+        return engine.verify(Base64.getDecoder().decode(signature));
+    }
+
+    @Benchmark
+    public boolean verifyPooled() {
+        return cryptographyService.verifySignature(hash, signature, publicKeyBase64);
+    }
+}
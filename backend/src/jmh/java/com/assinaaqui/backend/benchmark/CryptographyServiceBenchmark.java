@@ -0,0 +1,68 @@
+package com.assinaaqui.backend.benchmark;
+
+import com.assinaaqui.backend.entity.KeyAlgorithm;
+import com.assinaaqui.backend.service.CryptographyService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo isolado de cada operação do CryptographyService: hash por tamanho de texto,
+ * assinatura, verificação e geração de par de chaves para cada algoritmo de chave.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CryptographyServiceBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    private int textLength;
+
+    @Param({"RSA", "EC_P256", "ED25519"})
+    private KeyAlgorithm keyAlgorithm;
+
+    private CryptographyService cryptographyService;
+    private String privateKey;
+    private String publicKey;
+    private String text;
+    private String hash;
+    private String signature;
+
+    @Setup
+    public void setUp() {
+        cryptographyService = new CryptographyService();
+        Map<String, String> keyPair = cryptographyService.generateKeyPair(keyAlgorithm);
+        privateKey = keyPair.get("privateKey");
+        publicKey = keyPair.get("publicKey");
+
+        text = "a".repeat(textLength);
+        hash = cryptographyService.calculateSHA256Hash(text);
+        signature = cryptographyService.signHash(hash, privateKey, keyAlgorithm);
+    }
+
+    @Benchmark
+    public String calculateSHA256Hash() {
+        return cryptographyService.calculateSHA256Hash(text);
+    }
+
+    @Benchmark
+    public String signHash() {
+        return cryptographyService.signHash(hash, privateKey, keyAlgorithm);
+    }
+
+    @Benchmark
+    public boolean verifySignature() {
+        return cryptographyService.verifySignature(hash, signature, publicKey, keyAlgorithm);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Map<String, String> generateKeyPair() {
+        return cryptographyService.generateKeyPair(keyAlgorithm);
+    }
+}
@@ -0,0 +1,51 @@
+package com.assinaaqui.backend.benchmark;
+
+import com.assinaaqui.backend.entity.Signature;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cópia do mapeamento antigo de VerificationLog, com id IDENTITY, usada só como linha de base do
+ * VerificationLogInsertBenchmark. Fica no classpath apenas com o perfil benchmark; a tabela é
+ * criada pelo ddl-auto do perfil de teste.
+ */
+@Entity
+@Table(name = "verification_logs_identity")
+public class IdentityVerificationLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "signature_id", nullable = false)
+    private Signature signature;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime verifiedAt;
+
+    @Column(length = 45)
+    private String ipAddress;
+
+    @Column(nullable = false)
+    private Boolean isValid;
+
+    @Column(length = 500)
+    private String userAgent;
+
+    public IdentityVerificationLog() {}
+
+    public IdentityVerificationLog(Signature signature, String ipAddress, Boolean isValid, String userAgent,
+                                   LocalDateTime verifiedAt) {
+        this.signature = signature;
+        this.ipAddress = ipAddress;
+        this.isValid = isValid;
+        this.userAgent = userAgent;
+        this.verifiedAt = verifiedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,65 @@
+package com.assinaaqui.backend.benchmark;
+
+import com.assinaaqui.backend.AssinaAquiBackendApplication;
+import com.assinaaqui.backend.config.AuthenticatedUser;
+import com.assinaaqui.backend.entity.Signature;
+import com.assinaaqui.backend.service.SignatureService;
+import com.assinaaqui.backend.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fluxo completo de SignatureService.signText (hash, assinatura e gravação no H2),
+ * com o contexto Spring do perfil de teste. Com repeatedText o mesmo texto é assinado sempre
+ * (só soma referências em signed_contents); sem ele cada chamada grava um texto novo.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SignatureServiceBenchmark {
+
+    @Param({"100", "10000"})
+    private int textLength;
+
+    @Param({"true", "false"})
+    private boolean repeatedText;
+
+    private ConfigurableApplicationContext context;
+    private SignatureService signatureService;
+    private AuthenticatedUser user;
+    private String text;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(AssinaAquiBackendApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "logging.level.com.assinaaqui.backend=WARN",
+                        "logging.level.org.springframework.web=WARN")
+                .run();
+        signatureService = context.getBean(SignatureService.class);
+
+        String email = "benchmark-" + UUID.randomUUID() + "@example.com";
+        user = AuthenticatedUser.from(context.getBean(UserService.class).createUser("Benchmark User", email, "password123"));
+        text = "a".repeat(textLength);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Signature signText() {
+        return signatureService.signText(user, repeatedText ? text : text + sequence.incrementAndGet());
+    }
+}
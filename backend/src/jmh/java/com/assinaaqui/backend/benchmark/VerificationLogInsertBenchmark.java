@@ -0,0 +1,91 @@
+package com.assinaaqui.backend.benchmark;
+
+import com.assinaaqui.backend.AssinaAquiBackendApplication;
+import com.assinaaqui.backend.config.AuthenticatedUser;
+import com.assinaaqui.backend.entity.Signature;
+import com.assinaaqui.backend.entity.VerificationLog;
+import com.assinaaqui.backend.service.SignatureService;
+import com.assinaaqui.backend.service.UserService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gravação de um lote de logs de verificação no H2 numa única transação, como faz o
+ * VerificationLogWriter, comparando o mapeamento antigo (idStrategy=identity, tabela
+ * verification_logs_identity) com o atual (idStrategy=sequence, sequência com blocos de 50).
+ * Com IDENTITY o Hibernate executa cada INSERT no persist para obter o id, então o JDBC batch
+ * não tem efeito; com a sequência os INSERTs só saem em lote quando jdbcBatchSize > 0.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VerificationLogInsertBenchmark {
+
+    @Param({"identity", "sequence"})
+    private String idStrategy;
+
+    @Param({"0", "50"})
+    private int jdbcBatchSize;
+
+    @Param({"200"})
+    private int logsPerBatch;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private UUID signatureId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(AssinaAquiBackendApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "logging.level.com.assinaaqui.backend=WARN",
+                        "logging.level.org.springframework.web=WARN",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize,
+                        "spring.jpa.properties.hibernate.order_inserts=true")
+                .run();
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        String email = "benchmark-" + UUID.randomUUID() + "@example.com";
+        AuthenticatedUser user = AuthenticatedUser.from(
+                context.getBean(UserService.class).createUser("Benchmark User", email, "password123"));
+        signatureId = context.getBean(SignatureService.class).signText(user, "Documento auditado").getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void insertBatch() {
+        boolean identity = "identity".equals(idStrategy);
+        transactionTemplate.executeWithoutResult(status -> {
+            Signature signature = entityManager.getReference(Signature.class, signatureId);
+            LocalDateTime verifiedAt = LocalDateTime.now();
+            for (int i = 0; i < logsPerBatch; i++) {
+                if (identity) {
+                    entityManager.persist(new IdentityVerificationLog(signature, "127.0.0.1", true, "jmh", verifiedAt));
+                } else {
+                    VerificationLog log = new VerificationLog(signature, "127.0.0.1", true, "jmh");
+                    log.setVerifiedAt(verifiedAt);
+                    entityManager.persist(log);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,74 @@
+package com.assinaaqui.backend.config;
+
+import com.assinaaqui.backend.entity.KeyAlgorithm;
+import com.assinaaqui.backend.entity.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Usuário autenticado pelo JwtAuthenticationFilter, publicado como principal no SecurityContext.
+ * Carrega o que os controllers precisam para atender a requisição sem buscar o usuário de novo.
+ */
+public class AuthenticatedUser {
+
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final String publicKey;
+    private final String privateKey;
+    private final KeyAlgorithm keyAlgorithm;
+    private final LocalDateTime createdAt;
+
+    // Constructors
+    public AuthenticatedUser(Long id, String name, String email, String publicKey, String privateKey,
+                             KeyAlgorithm keyAlgorithm, LocalDateTime createdAt) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.publicKey = publicKey;
+        this.privateKey = privateKey;
+        this.keyAlgorithm = keyAlgorithm;
+        this.createdAt = createdAt;
+    }
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(
+            user.getId(),
+            user.getName(),
+            user.getEmail(),
+            user.getPublicKey(),
+            user.getPrivateKey(),
+            user.getKeyAlgorithm(),
+            user.getCreatedAt()
+        );
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPublicKey() {
+        return publicKey;
+    }
+
+    public String getPrivateKey() {
+        return privateKey;
+    }
+
+    public KeyAlgorithm getKeyAlgorithm() {
+        return keyAlgorithm;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
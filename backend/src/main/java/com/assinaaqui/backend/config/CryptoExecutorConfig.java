@@ -0,0 +1,58 @@
+package com.assinaaqui.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class CryptoExecutorConfig {
+
+    @Value("${crypto.executor.threads:0}")
+    private int threads;
+
+    @Value("${crypto.executor.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${key-pool.refill-threads:0}")
+    private int keyPoolRefillThreads;
+
+    /**
+     * Executor dedicado às operações RSA das rotas em lote. Com a fila cheia a própria
+     * thread da requisição executa a tarefa, o que limita a carga sem rejeitar itens.
+     */
+    @Bean(name = "cryptoExecutor")
+    public ThreadPoolTaskExecutor cryptoExecutor() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("crypto-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * Executor que repõe o pool de pares de chaves. Usa todos os núcleos, mas com prioridade
+     * baixa para que a geração em segundo plano ceda lugar às requisições.
+     */
+    @Bean(name = "keyPairExecutor")
+    public ThreadPoolTaskExecutor keyPairExecutor() {
+        int poolSize = keyPoolRefillThreads > 0 ? keyPoolRefillThreads : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("key-pool-");
+        executor.setThreadPriority(Thread.MIN_PRIORITY);
+        executor.setDaemon(true);
+        // Pares ainda não gerados não fazem falta no desligamento
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
@@ -0,0 +1,17 @@
+package com.assinaaqui.backend.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca um parâmetro {@link AuthenticatedUser} de controller que deve receber o usuário da
+ * requisição; o valor é null quando a requisição não está autenticada
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
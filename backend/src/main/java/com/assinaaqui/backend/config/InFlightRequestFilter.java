@@ -0,0 +1,51 @@
+package com.assinaaqui.backend.config;
+
+import com.assinaaqui.backend.service.ReadinessMonitor;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Conta as requisições em andamento e, com a réplica sobrecarregada, responde 503 de imediato em
+ * vez de enfileirar; o nginx repete as requisições idempotentes em outra réplica.
+ * Sondas de saúde e /info nunca são recusadas nem contadas.
+ */
+public class InFlightRequestFilter extends OncePerRequestFilter {
+
+    private final ReadinessMonitor readinessMonitor;
+
+    public InFlightRequestFilter(ReadinessMonitor readinessMonitor) {
+        this.readinessMonitor = readinessMonitor;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.startsWith("/actuator") || path.startsWith("/info");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        readinessMonitor.requestStarted();
+        try {
+            if (readinessMonitor.isOverloaded()) {
+                response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+                response.setHeader("Retry-After", "1");
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.setCharacterEncoding("UTF-8");
+                response.getWriter().write("{\"error\":\"Servidor sobrecarregado, tente novamente\"}");
+                return;
+            }
+            filterChain.doFilter(request, response);
+        } finally {
+            readinessMonitor.requestFinished();
+        }
+    }
+}
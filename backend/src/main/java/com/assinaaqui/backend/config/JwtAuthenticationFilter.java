@@ -2,6 +2,7 @@ package com.assinaaqui.backend.config;
 
 import com.assinaaqui.backend.service.JwtService;
 import com.assinaaqui.backend.service.UserService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,12 +10,13 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -44,16 +46,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
         
         try {
-            userEmail = jwtService.extractUsername(jwt);
+            // Um único parse com verificação HMAC; as claims são reaproveitadas na validação
+            Claims claims = jwtService.parseClaims(jwt);
+            userEmail = claims.getSubject();
             
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userService.loadUserByUsername(userEmail);
+            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null
+                    && jwtService.validateToken(claims, userEmail)) {
+                // Usuário vem do cache ou de uma única consulta; os controllers recebem o principal pronto
+                Optional<AuthenticatedUser> user = userService.findAuthenticatedUser(userEmail);
                 
-                if (jwtService.validateToken(jwt, userDetails.getUsername())) {
+                if (user.isPresent()) {
+                    AuthenticatedUser principal = user.get();
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
+                            principal,
                             null,
-                            userDetails.getAuthorities()
+                            Collections.emptyList()
                     );
                     authToken.setDetails(
                             new WebAuthenticationDetailsSource().buildDetails(request)
@@ -0,0 +1,142 @@
+package com.assinaaqui.backend.config;
+
+import com.assinaaqui.backend.service.CryptographyService;
+import com.assinaaqui.backend.service.KeyPairPool;
+import com.assinaaqui.backend.service.UserService;
+import com.assinaaqui.backend.service.VerificationCounter;
+import com.assinaaqui.backend.service.VerificationLogWriter;
+import com.assinaaqui.backend.service.VerificationResultCache;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.boot.actuate.metrics.data.RepositoryTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Métricas da aplicação: timers dos métodos anotados com @Timed e das chamadas aos repositórios,
+ * marcados com a rota que originou a chamada, e medidores dos caches, do pool de chaves e dos
+ * gravadores em lote. JVM, GC, Hikari, executores e requisições HTTP vêm do Actuator.
+ */
+@Configuration
+public class MetricsConfig {
+
+    static final String ENDPOINT_TAG = "endpoint";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry, (ProceedingJoinPoint joinPoint) -> Tags.of(
+            "class", joinPoint.getStaticPart().getSignature().getDeclaringTypeName(),
+            "method", joinPoint.getStaticPart().getSignature().getName(),
+            ENDPOINT_TAG, currentEndpoint()
+        ));
+    }
+
+    @Bean
+    public RepositoryTagsProvider repositoryTagsProvider() {
+        DefaultRepositoryTagsProvider defaults = new DefaultRepositoryTagsProvider();
+        return invocation -> Tags.of(defaults.repositoryTags(invocation)).and(ENDPOINT_TAG, currentEndpoint());
+    }
+
+    @Bean
+    public MeterBinder keyPairPoolMetrics(KeyPairPool keyPairPool) {
+        return registry -> {
+            Gauge.builder("keypool.ready", keyPairPool, KeyPairPool::getReadyCount)
+                .description("Pares de chaves prontos no pool")
+                .register(registry);
+            Gauge.builder("keypool.target", keyPairPool, KeyPairPool::getTargetSize)
+                .register(registry);
+            FunctionCounter.builder("keypool.takes", keyPairPool, pool -> pool.getStatistics().get("pooled"))
+                .tag("source", "pool")
+                .register(registry);
+            FunctionCounter.builder("keypool.takes", keyPairPool, pool -> pool.getStatistics().get("inline"))
+                .tag("source", "inline")
+                .description("Retiradas com o pool vazio, geradas na thread da requisição")
+                .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder cacheMetrics(CryptographyService cryptographyService, UserService userService,
+                                    VerificationResultCache verificationResultCache,
+                                    VerificationCounter verificationCounter) {
+        return registry -> {
+            bindCache(registry, "private-key", "privateKey", cryptographyService, CryptographyService::getKeyCacheStatistics);
+            bindCache(registry, "public-key", "publicKey", cryptographyService, CryptographyService::getKeyCacheStatistics);
+            bindCache(registry, "authenticated-user", "", userService, UserService::getUserCacheStatistics);
+            bindCache(registry, "verification-result", "", verificationResultCache, VerificationResultCache::getStatistics);
+            bindCache(registry, "verification-count", "", verificationCounter, VerificationCounter::getColumnCacheStatistics);
+        };
+    }
+
+    @Bean
+    public MeterBinder verificationWriterMetrics(VerificationLogWriter verificationLogWriter,
+                                                 VerificationCounter verificationCounter) {
+        return registry -> {
+            Gauge.builder("verification.log.queue", verificationLogWriter, VerificationLogWriter::getQueueDepth)
+                .description("Logs de verificação aguardando gravação")
+                .register(registry);
+            FunctionCounter.builder("verification.log.records", verificationLogWriter, VerificationLogWriter::getWritten)
+                .tag("result", "written")
+                .register(registry);
+            FunctionCounter.builder("verification.log.records", verificationLogWriter, VerificationLogWriter::getDropped)
+                .tag("result", "dropped")
+                .register(registry);
+            FunctionCounter.builder("verification.log.records", verificationLogWriter, VerificationLogWriter::getFailed)
+                .tag("result", "failed")
+                .register(registry);
+            Gauge.builder("verification.counter.pending", verificationCounter, VerificationCounter::getPendingSignatures)
+                .description("Assinaturas com incrementos de contagem ainda não gravados")
+                .register(registry);
+        };
+    }
+
+    /**
+     * Rota da requisição em andamento, como padrão do mapeamento (ex.: /verify/{id}) para manter
+     * a cardinalidade baixa; "unmapped" antes do DispatcherServlet (filtro JWT) e "none" fora de
+     * requisições (threads de fundo e executores)
+     */
+    static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return "none";
+        }
+        Object pattern = attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return pattern != null ? pattern.toString() : "unmapped";
+    }
+
+    // O Micrometer guarda referência fraca ao objeto medido; por isso o dono é o próprio bean
+    private static <T> void bindCache(MeterRegistry registry, String cache, String prefix, T owner,
+                                      Function<T, ? extends Map<String, ? extends Number>> statistics) {
+        FunctionCounter.builder("cache.gets", owner, o -> value(statistics.apply(o), prefix, "hits"))
+            .tags("cache", cache, "result", "hit")
+            .register(registry);
+        FunctionCounter.builder("cache.gets", owner, o -> value(statistics.apply(o), prefix, "misses"))
+            .tags("cache", cache, "result", "miss")
+            .register(registry);
+        FunctionCounter.builder("cache.evictions", owner, o -> value(statistics.apply(o), prefix, "evictions"))
+            .tag("cache", cache)
+            .register(registry);
+        Gauge.builder("cache.size", owner, o -> value(statistics.apply(o), prefix, "size"))
+            .tag("cache", cache)
+            .register(registry);
+    }
+
+    private static double value(Map<String, ? extends Number> statistics, String prefix, String key) {
+        // Os mapas de estatísticas usam "hits" ou, com prefixo, "privateKeyHits"
+        String name = prefix.isEmpty() ? key : prefix + Character.toUpperCase(key.charAt(0)) + key.substring(1);
+        Number value = statistics.get(name);
+        return value != null ? value.doubleValue() : Double.NaN;
+    }
+}
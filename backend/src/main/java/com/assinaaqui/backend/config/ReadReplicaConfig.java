@@ -0,0 +1,150 @@
+package com.assinaaqui.backend.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Réplicas de leitura, ativadas por datasource.replica.urls (perfil replicas). O primário usa as
+ * propriedades spring.datasource.*; cada réplica herda o ajuste do pool (spring.datasource.hikari.*)
+ * com o que estiver em datasource.replica.hikari.* por cima. Métricas: hikaricp.* de cada pool
+ * (tag pool: primary, replica-1...), datasource.routes por rota e o atraso de cada réplica.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.replica", name = "urls")
+public class ReadReplicaConfig {
+
+    @Value("${datasource.replica.urls}")
+    private List<String> replicaUrls;
+
+    @Value("${datasource.replica.username:${spring.datasource.username:}}")
+    private String replicaUsername;
+
+    @Value("${datasource.replica.password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    @Value("${datasource.replica.lag-query:}")
+    private String lagQuery;
+
+    @Value("${datasource.replica.max-lag-ms:1000}")
+    private long maxLagMs;
+
+    @Value("${datasource.replica.check-interval-ms:1000}")
+    private long checkIntervalMs;
+
+    @Value("${datasource.replica.migrate:false}")
+    private boolean migrateReplicas;
+
+    @Bean
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(DataSourceProperties properties, Environment environment) {
+        HikariConfig primaryConfig = poolConfig(environment, "spring.datasource.hikari");
+        primaryConfig.setPoolName(ReadReplicaRoutingDataSource.PRIMARY);
+        primaryConfig.setJdbcUrl(properties.determineUrl());
+        primaryConfig.setUsername(properties.determineUsername());
+        primaryConfig.setPassword(properties.determinePassword());
+        primaryConfig.setDriverClassName(properties.determineDriverClassName());
+
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariConfig replicaConfig = poolConfig(environment, "spring.datasource.hikari", "datasource.replica.hikari");
+            replicaConfig.setPoolName("replica-" + (i + 1));
+            replicaConfig.setJdbcUrl(replicaUrls.get(i).trim());
+            replicaConfig.setUsername(replicaUsername);
+            replicaConfig.setPassword(replicaPassword);
+            replicaConfig.setReadOnly(!migrateReplicas);
+            // Réplica fora do ar não impede a inicialização: fica fora do rodízio até responder
+            replicaConfig.setInitializationFailTimeout(-1);
+            HikariDataSource replica = new HikariDataSource(replicaConfig);
+            if (migrateReplicas) {
+                migrate(replica, replicaConfig.getJdbcUrl());
+            }
+            replicas.put(replicaConfig.getPoolName(), replica);
+        }
+
+        return new ReadReplicaRoutingDataSource(new HikariDataSource(primaryConfig), replicas, lagQuery, maxLagMs, checkIntervalMs);
+    }
+
+    /**
+     * DataSource usado pelo JPA, Flyway e JdbcTemplate. O proxy adia a obtenção da conexão até o
+     * primeiro comando, quando a transação já marcou se é somente leitura.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readReplicaRoutingDataSource);
+    }
+
+    @Bean
+    public MeterBinder readReplicaMetrics(ReadReplicaRoutingDataSource routing) {
+        return registry -> {
+            // Os pools não são beans, então o Actuator não os instrumenta sozinho
+            routing.getResolvedDataSources().values().forEach(pool -> {
+                HikariDataSource hikari = (HikariDataSource) pool;
+                if (hikari.getMetricsTrackerFactory() == null && hikari.getMetricRegistry() == null) {
+                    hikari.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+                }
+            });
+            FunctionCounter.builder("datasource.routes", routing, ReadReplicaRoutingDataSource::getPrimaryRoutes)
+                .tag("route", "primary")
+                .register(registry);
+            FunctionCounter.builder("datasource.routes", routing, ReadReplicaRoutingDataSource::getReplicaRoutes)
+                .tag("route", "replica")
+                .register(registry);
+            FunctionCounter.builder("datasource.routes", routing, ReadReplicaRoutingDataSource::getFallbackRoutes)
+                .tag("route", "fallback")
+                .description("Leituras enviadas ao primário por falta de réplica disponível")
+                .register(registry);
+            for (String replica : routing.getReplicas().keySet()) {
+                Gauge.builder("datasource.replica.lag", routing, r -> r.getReplicaLag().getOrDefault(replica, -1L))
+                    .tag("pool", replica)
+                    .baseUnit("milliseconds")
+                    .description("Atraso da réplica na última verificação; -1 = fora do ar")
+                    .register(registry);
+                Gauge.builder("datasource.replica.available", routing, r -> r.getAvailableReplicas().contains(replica) ? 1 : 0)
+                    .tag("pool", replica)
+                    .register(registry);
+            }
+        };
+    }
+
+    /**
+     * Cria o esquema numa réplica H2 local com as mesmas migrações do primário
+     */
+    private static void migrate(DataSource replica, String jdbcUrl) {
+        String vendor = DatabaseDriver.fromJdbcUrl(jdbcUrl).getId();
+        Flyway.configure()
+            .dataSource(replica)
+            .locations("classpath:db/migration/" + vendor)
+            .load()
+            .migrate();
+    }
+
+    private static HikariConfig poolConfig(Environment environment, String... prefixes) {
+        HikariConfig config = new HikariConfig();
+        Binder binder = Binder.get(environment);
+        for (String prefix : prefixes) {
+            binder.bind(prefix, Bindable.ofInstance(config));
+        }
+        return config;
+    }
+}
@@ -0,0 +1,183 @@
+package com.assinaaqui.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Envia as transações somente leitura às réplicas, em rodízio, e todo o resto ao primário.
+ * Uma réplica só recebe leituras enquanto responde e o atraso medido pela lag-query fica dentro
+ * do limite; sem réplica disponível as leituras voltam ao primário. Precisa ficar atrás de um
+ * LazyConnectionDataSourceProxy: a conexão só pode ser escolhida depois que a transação marcou
+ * se é somente leitura.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    private final HikariDataSource primary;
+    private final Map<String, HikariDataSource> replicas;
+    private final String lagQuery;
+    private final long maxLagMs;
+    private final long checkIntervalMs;
+
+    private final Map<String, JdbcTemplate> checks = new HashMap<>();
+    // Atraso da última verificação de cada réplica; -1 = fora do ar
+    private final Map<String, Long> lagMs = new ConcurrentHashMap<>();
+    private volatile List<String> available = List.of();
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final AtomicLong primaryRoutes = new AtomicLong();
+    private final AtomicLong replicaRoutes = new AtomicLong();
+    private final AtomicLong fallbackRoutes = new AtomicLong();
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param primary Pool do banco primário
+     * @param replicas Pools das réplicas, pelo nome da rota (replica-1, replica-2...)
+     * @param lagQuery Consulta que devolve o atraso da réplica em milissegundos; vazia = só testa a conexão
+     * @param maxLagMs Atraso acima do qual a réplica deixa de receber leituras
+     * @param checkIntervalMs Intervalo entre as verificações das réplicas; 0 = só sob demanda (check())
+     */
+    public ReadReplicaRoutingDataSource(HikariDataSource primary, Map<String, HikariDataSource> replicas,
+                                        String lagQuery, long maxLagMs, long checkIntervalMs) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.lagQuery = lagQuery;
+        this.maxLagMs = maxLagMs;
+        this.checkIntervalMs = checkIntervalMs;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+
+        replicas.forEach((name, replica) -> {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(replica);
+            jdbcTemplate.setQueryTimeout(Math.max(1, (int) TimeUnit.MILLISECONDS.toSeconds(maxLagMs * 4)));
+            checks.put(name, jdbcTemplate);
+            lagMs.put(name, -1L);
+        });
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Até a primeira verificação as leituras ficam no primário
+        if (checkIntervalMs > 0) {
+            scheduler.scheduleWithFixedDelay(this::check, 0, checkIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        replicas.values().forEach(HikariDataSource::close);
+        primary.close();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryRoutes.incrementAndGet();
+            return PRIMARY;
+        }
+        List<String> candidates = available;
+        if (candidates.isEmpty()) {
+            fallbackRoutes.incrementAndGet();
+            return PRIMARY;
+        }
+        replicaRoutes.incrementAndGet();
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    /**
+     * Mede o atraso de cada réplica e recalcula as que podem receber leituras
+     */
+    void check() {
+        List<String> healthy = new ArrayList<>();
+        checks.forEach((name, jdbcTemplate) -> {
+            long lag = measureLag(name, jdbcTemplate);
+            long previous = lagMs.put(name, lag);
+            boolean ok = lag >= 0 && lag <= maxLagMs;
+            if (ok) {
+                healthy.add(name);
+            }
+            if (ok != (previous >= 0 && previous <= maxLagMs)) {
+                logger.info("Réplica {} {} (atraso {} ms)", name, ok ? "recebendo leituras" : "fora do rodízio", lag);
+            }
+        });
+        healthy.sort(null);
+        available = List.copyOf(healthy);
+    }
+
+    private long measureLag(String name, JdbcTemplate jdbcTemplate) {
+        try {
+            if (lagQuery == null || lagQuery.isBlank()) {
+                jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+                return 0;
+            }
+            Number lag = jdbcTemplate.queryForObject(lagQuery, Number.class);
+            return lag != null ? Math.max(0, lag.longValue()) : 0;
+        } catch (RuntimeException e) {
+            logger.warn("Réplica {} indisponível: {}", name, e.getMessage());
+            return -1;
+        }
+    }
+
+    public List<String> getAvailableReplicas() {
+        return available;
+    }
+
+    /**
+     * Atraso da última verificação de cada réplica, em milissegundos (-1 = fora do ar)
+     */
+    public Map<String, Long> getReplicaLag() {
+        return new LinkedHashMap<>(lagMs);
+    }
+
+    public Map<String, HikariDataSource> getReplicas() {
+        return replicas;
+    }
+
+    public long getPrimaryRoutes() {
+        return primaryRoutes.get();
+    }
+
+    public long getReplicaRoutes() {
+        return replicaRoutes.get();
+    }
+
+    /**
+     * Transações somente leitura enviadas ao primário por falta de réplica disponível
+     */
+    public long getFallbackRoutes() {
+        return fallbackRoutes.get();
+    }
+}
@@ -0,0 +1,34 @@
+package com.assinaaqui.backend.config;
+
+import com.assinaaqui.backend.service.ReadinessMonitor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class ReadinessConfig {
+
+    /**
+     * Primeiro filtro da cadeia, para que a requisição recusada não passe pela segurança
+     */
+    @Bean
+    public FilterRegistrationBean<InFlightRequestFilter> inFlightRequestFilter(ReadinessMonitor readinessMonitor) {
+        FilterRegistrationBean<InFlightRequestFilter> registration =
+                new FilterRegistrationBean<>(new InFlightRequestFilter(readinessMonitor));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Indicador "load" do grupo de prontidão (/actuator/health/readiness)
+     */
+    @Bean
+    public HealthIndicator loadHealthIndicator(ReadinessMonitor readinessMonitor) {
+        return () -> (readinessMonitor.isReady() ? Health.up() : Health.outOfService())
+                .withDetails(readinessMonitor.getDetails())
+                .build();
+    }
+}
@@ -43,6 +43,9 @@ public class SecurityConfig {
                 .requestMatchers("/auth/**").permitAll()
                 .requestMatchers("/verify/**").permitAll()
                 .requestMatchers("/h2-console/**").permitAll()
+                // Saúde e coleta do Prometheus; o nginx não repassa /api/actuator para fora da rede interna
+                .requestMatchers("/actuator/health/**", "/actuator/info", "/actuator/prometheus").permitAll()
+                .requestMatchers("/info/health", "/info/hostname").permitAll()
                 // Rotas protegidas
                 .requestMatchers("/signatures/**").authenticated()
                 // Qualquer outra rota requer autenticação
@@ -67,6 +70,8 @@ public class SecurityConfig {
         configuration.setAllowedOriginPatterns(List.of("http://localhost:3000"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        // Paginação de /signatures/my-signatures
+        configuration.setExposedHeaders(List.of("X-Next-Cursor"));
         configuration.setAllowCredentials(true);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -1,5 +1,7 @@
 package com.assinaaqui.backend.controller;
 
+import com.assinaaqui.backend.config.AuthenticatedUser;
+import com.assinaaqui.backend.config.CurrentUser;
 import com.assinaaqui.backend.dto.AuthResponse;
 import com.assinaaqui.backend.dto.LoginRequest;
 import com.assinaaqui.backend.dto.RegisterRequest;
@@ -30,7 +32,8 @@ public class AuthController {
     @PostMapping("/register")
     public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request) {
         try {
-            User user = userService.createUser(request.getName(), request.getEmail(), request.getPassword());
+            User user = userService.createUser(request.getName(), request.getEmail(), request.getPassword(),
+                    request.getKeyAlgorithm());
             
             // Gerar token JWT
             String token = jwtService.generateToken(user.getEmail());
@@ -78,38 +81,21 @@ public class AuthController {
     }
 
     @GetMapping("/me")
-    public ResponseEntity<?> getCurrentUser(@RequestHeader("Authorization") String authHeader) {
-        try {
-            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-                Map<String, String> error = new HashMap<>();
-                error.put("error", "Token não fornecido");
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
-            }
-            
-            String token = authHeader.substring(7);
-            String email = jwtService.extractUsername(token);
-            
-            Optional<User> userOptional = userService.findByEmail(email);
-            
-            if (userOptional.isEmpty()) {
-                Map<String, String> error = new HashMap<>();
-                error.put("error", "Usuário não encontrado");
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
-            }
-            
-            User user = userOptional.get();
-            
-            Map<String, Object> userInfo = new HashMap<>();
-            userInfo.put("id", user.getId());
-            userInfo.put("name", user.getName());
-            userInfo.put("email", user.getEmail());
-            userInfo.put("createdAt", user.getCreatedAt());
-            
-            return ResponseEntity.ok(userInfo);
-        } catch (Exception e) {
+    public ResponseEntity<?> getCurrentUser(@CurrentUser AuthenticatedUser currentUser) {
+        // Usuário resolvido pelo filtro JWT, sem nova consulta
+        if (currentUser == null) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Token inválido");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
         }
+        
+        Map<String, Object> userInfo = new HashMap<>();
+        userInfo.put("id", currentUser.getId());
+        userInfo.put("name", currentUser.getName());
+        userInfo.put("email", currentUser.getEmail());
+        userInfo.put("keyAlgorithm", currentUser.getKeyAlgorithm());
+        userInfo.put("createdAt", currentUser.getCreatedAt());
+        
+        return ResponseEntity.ok(userInfo);
     }
 }
\ No newline at end of file
@@ -1,5 +1,11 @@
 package com.assinaaqui.backend.controller;
 
+import com.assinaaqui.backend.service.ReadinessMonitor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.HealthComponent;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -13,6 +19,12 @@ import java.util.Map;
 @CrossOrigin(origins = "http://localhost:3000")
 public class InfoController {
 
+    @Autowired
+    private HealthEndpoint healthEndpoint;
+
+    @Autowired
+    private ReadinessMonitor readinessMonitor;
+
     @GetMapping("/hostname")
     public ResponseEntity<Map<String, String>> getHostname() {
         Map<String, String> response = new HashMap<>();
@@ -33,11 +45,18 @@ public class InfoController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Prontidão da réplica para o balanceador: 200 com o grupo readiness em UP, 503 caso contrário
+     */
     @GetMapping("/health")
-    public ResponseEntity<Map<String, String>> health() {
-        Map<String, String> response = new HashMap<>();
-        response.put("status", "UP");
+    public ResponseEntity<Map<String, Object>> health() {
+        HealthComponent readiness = healthEndpoint.healthForPath("readiness");
+        boolean ready = readiness != null && Status.UP.equals(readiness.getStatus());
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", ready ? "UP" : "OUT_OF_SERVICE");
         response.put("service", "assina-aqui-backend");
-        return ResponseEntity.ok(response);
+        response.put("details", readinessMonitor.getDetails());
+        return ResponseEntity.status(ready ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(response);
     }
 }
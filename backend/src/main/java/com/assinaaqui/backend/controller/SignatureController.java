@@ -1,22 +1,26 @@
 package com.assinaaqui.backend.controller;
 
+import com.assinaaqui.backend.config.AuthenticatedUser;
+import com.assinaaqui.backend.config.CurrentUser;
+import com.assinaaqui.backend.dto.BatchSignRequest;
 import com.assinaaqui.backend.dto.SignRequest;
 import com.assinaaqui.backend.dto.SignResponse;
+import com.assinaaqui.backend.dto.SignatureCursor;
 import com.assinaaqui.backend.entity.Signature;
-import com.assinaaqui.backend.entity.User;
-import com.assinaaqui.backend.service.JwtService;
 import com.assinaaqui.backend.service.SignatureService;
-import com.assinaaqui.backend.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
@@ -24,50 +28,112 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "http://localhost:3000")
 public class SignatureController {
 
-    @Autowired
-    private SignatureService signatureService;
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
 
     @Autowired
-    private UserService userService;
-
-    @Autowired
-    private JwtService jwtService;
+    private SignatureService signatureService;
 
     @PostMapping("/sign")
     public ResponseEntity<?> signText(
             @Valid @RequestBody SignRequest request,
-            @RequestHeader("Authorization") String authHeader) {
+            @CurrentUser AuthenticatedUser currentUser) {
         try {
-            // Validar token JWT
-            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            // Usuário resolvido pelo filtro JWT
+            if (currentUser == null) {
                 Map<String, String> error = new HashMap<>();
-                error.put("error", "Token não fornecido");
+                error.put("error", "Usuário não autenticado");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
             }
 
-            String token = authHeader.substring(7);
-            String email = jwtService.extractUsername(token);
+            // Assinar o texto
+            Signature signature = signatureService.signText(currentUser, request.getText());
+
+            // Criar resposta
+            SignResponse response = new SignResponse(
+                signature.getId(),
+                signature.getTextHash(),
+                signature.getSignature(),
+                signature.getAlgorithm(),
+                signature.getCreatedAt()
+            );
+
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Erro ao assinar texto: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
 
-            Optional<User> userOptional = userService.findByEmail(email);
-            if (userOptional.isEmpty()) {
+    @PostMapping("/sign/batch")
+    public ResponseEntity<?> signBatch(
+            @Valid @RequestBody BatchSignRequest request,
+            @CurrentUser AuthenticatedUser currentUser) {
+        try {
+            // Usuário resolvido pelo filtro JWT
+            if (currentUser == null) {
                 Map<String, String> error = new HashMap<>();
-                error.put("error", "Usuário não encontrado");
+                error.put("error", "Usuário não autenticado");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
             }
 
-            User user = userOptional.get();
+            // Assinar todos os textos do lote
+            List<Signature> signatures = signatureService.signTexts(currentUser, request.getTexts());
+
+            // Um resultado por item, na ordem dos textos recebidos
+            List<SignResponse> response = signatures.stream()
+                .map(sig -> new SignResponse(
+                    sig.getId(),
+                    sig.getTextHash(),
+                    sig.getSignature(),
+                    sig.getAlgorithm(),
+                    sig.getCreatedAt()
+                ))
+                .collect(Collectors.toList());
 
-            // Validar token
-            if (!jwtService.validateToken(token, email)) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Erro ao assinar textos: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+    @PostMapping(value = "/sign/stream", consumes = {MediaType.APPLICATION_OCTET_STREAM_VALUE, MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<?> signStream(
+            InputStream body,
+            @RequestHeader("Content-Type") String contentType,
+            @CurrentUser AuthenticatedUser currentUser) {
+        return signDocument(currentUser, body, contentType);
+    }
+
+    @PostMapping(value = "/sign/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> signMultipart(
+            @RequestPart("file") MultipartFile file,
+            @CurrentUser AuthenticatedUser currentUser) {
+        try (InputStream content = file.getInputStream()) {
+            return signDocument(currentUser, content, file.getContentType());
+        } catch (IOException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Erro ao ler documento: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+
+    private ResponseEntity<?> signDocument(AuthenticatedUser currentUser, InputStream content, String contentType) {
+        try {
+            // Usuário resolvido pelo filtro JWT
+            if (currentUser == null) {
                 Map<String, String> error = new HashMap<>();
-                error.put("error", "Token inválido");
+                error.put("error", "Usuário não autenticado");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
             }
 
-            // Assinar o texto
-            Signature signature = signatureService.signText(user, request.getText());
+            // Assinar o documento sem carregá-lo inteiro em memória
+            Signature signature = signatureService.signDocument(currentUser, content, contentType);
 
-            // Criar resposta
             SignResponse response = new SignResponse(
                 signature.getId(),
                 signature.getTextHash(),
@@ -79,55 +145,48 @@ public class SignatureController {
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
-            error.put("error", "Erro ao assinar texto: " + e.getMessage());
+            error.put("error", "Erro ao assinar documento: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
         }
     }
 
+    /**
+     * Lista as assinaturas do usuário, da mais recente para a mais antiga, paginadas por chave.
+     * Quando houver mais itens, o header X-Next-Cursor traz o valor do parâmetro cursor da próxima página.
+     */
     @GetMapping("/my-signatures")
-    public ResponseEntity<?> getMySignatures(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getMySignatures(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            @CurrentUser AuthenticatedUser currentUser) {
         try {
-            // Validar token JWT
-            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            // Usuário resolvido pelo filtro JWT
+            if (currentUser == null) {
                 Map<String, String> error = new HashMap<>();
-                error.put("error", "Token não fornecido");
+                error.put("error", "Usuário não autenticado");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
             }
 
-            String token = authHeader.substring(7);
-            String email = jwtService.extractUsername(token);
-
-            Optional<User> userOptional = userService.findByEmail(email);
-            if (userOptional.isEmpty()) {
+            SignatureCursor after;
+            try {
+                after = cursor != null && !cursor.isBlank() ? SignatureCursor.decode(cursor) : null;
+            } catch (IllegalArgumentException e) {
                 Map<String, String> error = new HashMap<>();
-                error.put("error", "Usuário não encontrado");
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+                error.put("error", "Cursor inválido");
+                return ResponseEntity.badRequest().body(error);
             }
+            int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
 
-            User user = userOptional.get();
-
-            // Validar token
-            if (!jwtService.validateToken(token, email)) {
-                Map<String, String> error = new HashMap<>();
-                error.put("error", "Token inválido");
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+            // Um item a mais indica se existe próxima página
+            List<SignResponse> page = signatureService.findSignaturePage(currentUser.getId(), after, pageSize + 1);
+            if (page.size() <= pageSize) {
+                return ResponseEntity.ok(page);
             }
 
-            // Buscar assinaturas do usuário
-            List<Signature> signatures = signatureService.findByUserOrderByCreatedAtDesc(user);
-
-            // Converter para DTO
-            List<SignResponse> response = signatures.stream()
-                .map(sig -> new SignResponse(
-                    sig.getId(),
-                    sig.getTextHash(),
-                    sig.getSignature(),
-                    sig.getAlgorithm(),
-                    sig.getCreatedAt()
-                ))
-                .collect(Collectors.toList());
-
-            return ResponseEntity.ok(response);
+            List<SignResponse> response = page.subList(0, pageSize);
+            return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, SignatureCursor.after(response.get(pageSize - 1)).encode())
+                .body(response);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Erro ao buscar assinaturas: " + e.getMessage());
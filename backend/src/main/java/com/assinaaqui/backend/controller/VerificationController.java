@@ -1,19 +1,33 @@
 package com.assinaaqui.backend.controller;
 
+import com.assinaaqui.backend.dto.BatchVerificationResult;
+import com.assinaaqui.backend.dto.BatchVerifyRequest;
+import com.assinaaqui.backend.dto.TextSignatureItem;
 import com.assinaaqui.backend.dto.VerificationResponse;
 import com.assinaaqui.backend.entity.Signature;
+import com.assinaaqui.backend.entity.VerificationLog;
 import com.assinaaqui.backend.service.SignatureService;
+import com.assinaaqui.backend.service.VerificationCounter;
 import com.assinaaqui.backend.service.VerificationLogService;
+import com.assinaaqui.backend.service.VerificationResultCache;
+import com.assinaaqui.backend.service.VerificationResultCache.VerificationSnapshot;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/verify")
@@ -26,43 +40,47 @@ public class VerificationController {
     @Autowired
     private VerificationLogService verificationLogService;
 
+    @Autowired
+    private VerificationCounter verificationCounter;
+
+    @Autowired
+    private VerificationResultCache verificationResultCache;
+
     @GetMapping("/{id}")
     public ResponseEntity<?> verifySignature(
             @PathVariable UUID id,
             HttpServletRequest request) {
         try {
-            // Buscar assinatura por ID
-            Optional<Signature> signatureOptional = signatureService.findById(id);
+            // Resultado em cache: sem carregar a assinatura nem refazer a operação RSA em acessos repetidos
+            Optional<VerificationSnapshot> snapshotOptional = verificationResultCache.verify(id);
             
-            if (signatureOptional.isEmpty()) {
+            if (snapshotOptional.isEmpty()) {
                 Map<String, String> error = new HashMap<>();
                 error.put("error", "Assinatura não encontrada");
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
             }
             
-            Signature signature = signatureOptional.get();
-            
-            // Verificar a validade da assinatura
-            boolean isValid = signatureService.verifySignature(signature);
+            VerificationSnapshot snapshot = snapshotOptional.get();
             
             // Obter informações da requisição para log
             String ipAddress = getClientIpAddress(request);
             String userAgent = request.getHeader("User-Agent");
             
             // Registrar log de verificação
-            verificationLogService.logVerification(signature, ipAddress, userAgent, isValid);
+            verificationLogService.logVerification(snapshot.signatureId(), ipAddress, userAgent, snapshot.isValid());
             
-            // Contar total de verificações
-            long verificationCount = verificationLogService.countBySignature(signature);
+            // Total de verificações mantido pelo contador, sem contar os logs
+            verificationCounter.record(snapshot.signatureId());
+            long verificationCount = verificationResultCache.currentCount(snapshot);
             
             // Criar resposta
             VerificationResponse response = new VerificationResponse(
-                signature.getId(),
-                isValid,
-                signature.getUser().getName(),
-                signature.getAlgorithm(),
-                signature.getCreatedAt(),
-                signature.getOriginalText(),
+                snapshot.signatureId(),
+                snapshot.isValid(),
+                snapshot.signatory(),
+                snapshot.algorithm(),
+                snapshot.signedAt(),
+                snapshot.originalText(),
                 verificationCount
             );
             
@@ -103,7 +121,8 @@ public class VerificationController {
             boolean isValid = signatureService.verifySignatureByText(
                 originalText, 
                 signatureValue, 
-                signature.getUser().getPublicKey()
+                signature.getUser().getPublicKey(),
+                signature.getAlgorithm()
             );
             
             // Obter informações da requisição para log
@@ -113,8 +132,8 @@ public class VerificationController {
             // Registrar log de verificação
             verificationLogService.logVerification(signature, ipAddress, userAgent, isValid);
             
-            // Contar total de verificações
-            long verificationCount = verificationLogService.countBySignature(signature);
+            // Total de verificações mantido pelo contador, sem contar os logs
+            long verificationCount = verificationCounter.recordAndGet(signature);
             
             // Criar resposta
             VerificationResponse response = new VerificationResponse(
@@ -135,6 +154,88 @@ public class VerificationController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<?> verifyBatch(
+            @Valid @RequestBody BatchVerifyRequest request,
+            HttpServletRequest httpRequest) {
+        try {
+            // Listas enviadas explicitamente como null não passam pelos valores padrão do DTO
+            if (request.getIds() == null || request.getItems() == null) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "ids e items não podem ser nulos");
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+            }
+
+            if (request.getIds().isEmpty() && request.getItems().isEmpty()) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "Informe ids ou pares de texto e assinatura");
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+            }
+
+            // Buscar todas as assinaturas por id numa única consulta
+            Map<UUID, Signature> signaturesById = signatureService.findAllByIds(new HashSet<>(request.getIds())).stream()
+                .collect(Collectors.toMap(Signature::getId, Function.identity()));
+
+            // Buscar as assinaturas dos pares texto/assinatura numa única consulta
+            List<String> itemHashes = new ArrayList<>();
+            Map<String, Set<String>> signatureValuesByHash = new HashMap<>();
+            for (TextSignatureItem item : request.getItems()) {
+                String hash = signatureService.calculateTextHash(item.getText());
+                itemHashes.add(hash);
+                signatureValuesByHash.computeIfAbsent(hash, h -> new HashSet<>()).add(item.getSignature());
+            }
+            Map<String, Signature> signaturesByHashAndValue = new HashMap<>();
+            for (Signature signature : signatureService.findAllByHashAndSignature(signatureValuesByHash)) {
+                signaturesByHashAndValue.put(signature.getTextHash() + ":" + signature.getSignature(), signature);
+                signaturesById.putIfAbsent(signature.getId(), signature);
+            }
+
+            // Uma entrada por item pedido, na ordem da requisição (null = não encontrada)
+            List<Signature> requested = new ArrayList<>();
+            request.getIds().forEach(id -> requested.add(signaturesById.get(id)));
+            for (int i = 0; i < request.getItems().size(); i++) {
+                requested.add(signaturesByHashAndValue.get(itemHashes.get(i) + ":" + request.getItems().get(i).getSignature()));
+            }
+
+            // Verificar em paralelo cada assinatura distinta
+            Map<UUID, Boolean> validity = signatureService.verifySignatures(signaturesById.values());
+
+            // Registrar os logs de verificação de uma vez
+            String ipAddress = getClientIpAddress(httpRequest);
+            String userAgent = httpRequest.getHeader("User-Agent");
+            List<VerificationLog> logs = requested.stream()
+                .filter(signature -> signature != null)
+                .map(signature -> new VerificationLog(signature, ipAddress, validity.get(signature.getId()), userAgent))
+                .collect(Collectors.toList());
+            verificationLogService.logVerifications(logs);
+            logs.forEach(log -> verificationCounter.record(log.getSignature().getId()));
+            Map<UUID, Long> verificationCounts = verificationCounter.current(signaturesById.keySet());
+
+            List<BatchVerificationResult> response = new ArrayList<>();
+            for (int i = 0; i < requested.size(); i++) {
+                Signature signature = requested.get(i);
+                if (signature == null) {
+                    response.add(BatchVerificationResult.notFound(i < request.getIds().size() ? request.getIds().get(i) : null));
+                    continue;
+                }
+                response.add(new BatchVerificationResult(
+                    signature.getId(),
+                    validity.get(signature.getId()),
+                    signature.getUser().getName(),
+                    signature.getAlgorithm(),
+                    signature.getCreatedAt(),
+                    verificationCounts.getOrDefault(signature.getId(), 0L)
+                ));
+            }
+
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Erro ao verificar assinaturas: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
     private String getClientIpAddress(HttpServletRequest request) {
         String xForwardedFor = request.getHeader("X-Forwarded-For");
         if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
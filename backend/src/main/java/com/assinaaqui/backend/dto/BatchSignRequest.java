@@ -0,0 +1,31 @@
+package com.assinaaqui.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BatchSignRequest {
+
+    @NotEmpty(message = "Lista de textos é obrigatória")
+    @Size(max = 1000, message = "Máximo de 1000 textos por lote")
+    private List<@NotBlank(message = "Texto é obrigatório")
+                 @Size(max = 10000, message = "Texto deve ter até 10000 caracteres") String> texts;
+
+    // Constructors
+    public BatchSignRequest() {}
+
+    public BatchSignRequest(List<String> texts) {
+        this.texts = texts;
+    }
+
+    // Getters and Setters
+    public List<String> getTexts() {
+        return texts;
+    }
+
+    public void setTexts(List<String> texts) {
+        this.texts = texts;
+    }
+}
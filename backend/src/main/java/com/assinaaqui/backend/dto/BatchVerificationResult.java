@@ -0,0 +1,104 @@
+package com.assinaaqui.backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class BatchVerificationResult {
+
+    private UUID signatureId;
+    private boolean found;
+    private boolean isValid;
+    private String status; // "VALID", "INVALID" ou "NOT_FOUND"
+    private String signatory;
+    private String algorithm;
+    private LocalDateTime signedAt;
+    private long verificationCount;
+
+    // Constructors
+    public BatchVerificationResult() {}
+
+    public BatchVerificationResult(UUID signatureId, boolean isValid, String signatory, String algorithm,
+                                   LocalDateTime signedAt, long verificationCount) {
+        this.signatureId = signatureId;
+        this.found = true;
+        this.isValid = isValid;
+        this.status = isValid ? "VALID" : "INVALID";
+        this.signatory = signatory;
+        this.algorithm = algorithm;
+        this.signedAt = signedAt;
+        this.verificationCount = verificationCount;
+    }
+
+    public static BatchVerificationResult notFound(UUID signatureId) {
+        BatchVerificationResult result = new BatchVerificationResult();
+        result.signatureId = signatureId;
+        result.status = "NOT_FOUND";
+        return result;
+    }
+
+    // Getters and Setters
+    public UUID getSignatureId() {
+        return signatureId;
+    }
+
+    public void setSignatureId(UUID signatureId) {
+        this.signatureId = signatureId;
+    }
+
+    public boolean isFound() {
+        return found;
+    }
+
+    public void setFound(boolean found) {
+        this.found = found;
+    }
+
+    public boolean isValid() {
+        return isValid;
+    }
+
+    public void setValid(boolean valid) {
+        isValid = valid;
+        this.status = valid ? "VALID" : "INVALID";
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getSignatory() {
+        return signatory;
+    }
+
+    public void setSignatory(String signatory) {
+        this.signatory = signatory;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public LocalDateTime getSignedAt() {
+        return signedAt;
+    }
+
+    public void setSignedAt(LocalDateTime signedAt) {
+        this.signedAt = signedAt;
+    }
+
+    public long getVerificationCount() {
+        return verificationCount;
+    }
+
+    public void setVerificationCount(long verificationCount) {
+        this.verificationCount = verificationCount;
+    }
+}
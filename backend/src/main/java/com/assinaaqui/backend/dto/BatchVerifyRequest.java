@@ -0,0 +1,44 @@
+package com.assinaaqui.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class BatchVerifyRequest {
+
+    @Size(max = 1000, message = "Máximo de 1000 ids por lote")
+    private List<@NotNull UUID> ids = new ArrayList<>();
+
+    @Valid
+    @Size(max = 1000, message = "Máximo de 1000 pares texto/assinatura por lote")
+    private List<@NotNull TextSignatureItem> items = new ArrayList<>();
+
+    // Constructors
+    public BatchVerifyRequest() {}
+
+    public BatchVerifyRequest(List<UUID> ids, List<TextSignatureItem> items) {
+        this.ids = ids;
+        this.items = items;
+    }
+
+    // Getters and Setters
+    public List<UUID> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<UUID> ids) {
+        this.ids = ids;
+    }
+
+    public List<TextSignatureItem> getItems() {
+        return items;
+    }
+
+    public void setItems(List<TextSignatureItem> items) {
+        this.items = items;
+    }
+}
@@ -1,5 +1,6 @@
 package com.assinaaqui.backend.dto;
 
+import com.assinaaqui.backend.entity.KeyAlgorithm;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -18,6 +19,9 @@ public class RegisterRequest {
     @Size(min = 6, message = "Senha deve ter pelo menos 6 caracteres")
     private String password;
 
+    // Opcional: sem valor, usa o algoritmo padrão da aplicação
+    private KeyAlgorithm keyAlgorithm;
+
     // Constructors
     public RegisterRequest() {}
 
@@ -51,4 +55,12 @@ public class RegisterRequest {
     public void setPassword(String password) {
         this.password = password;
     }
-}
\ No newline at end of file
+
+    public KeyAlgorithm getKeyAlgorithm() {
+        return keyAlgorithm;
+    }
+
+    public void setKeyAlgorithm(KeyAlgorithm keyAlgorithm) {
+        this.keyAlgorithm = keyAlgorithm;
+    }
+}
@@ -0,0 +1,61 @@
+package com.assinaaqui.backend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posição na listagem de assinaturas ordenada por (createdAt, id) decrescentes. Vai ao cliente
+ * como texto opaco no header X-Next-Cursor e volta no parâmetro cursor da próxima página.
+ */
+public class SignatureCursor {
+
+    private final LocalDateTime createdAt;
+    private final UUID id;
+
+    public SignatureCursor(LocalDateTime createdAt, UUID id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public static SignatureCursor after(SignResponse last) {
+        return new SignatureCursor(last.getCreatedAt(), last.getSignatureId());
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param encoded Valor produzido por {@link #encode()}
+     * @return Cursor decodificado
+     * @throws IllegalArgumentException se o valor não for um cursor válido
+     */
+    public static SignatureCursor decode(String encoded) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return new SignatureCursor(
+                LocalDateTime.parse(raw.substring(0, separator)),
+                UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+
+    // Getters
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+}
@@ -0,0 +1,37 @@
+package com.assinaaqui.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class TextSignatureItem {
+
+    @NotBlank(message = "Texto é obrigatório")
+    private String text;
+
+    @NotBlank(message = "Assinatura é obrigatória")
+    private String signature;
+
+    // Constructors
+    public TextSignatureItem() {}
+
+    public TextSignatureItem(String text, String signature) {
+        this.text = text;
+        this.signature = signature;
+    }
+
+    // Getters and Setters
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public String getSignature() {
+        return signature;
+    }
+
+    public void setSignature(String signature) {
+        this.signature = signature;
+    }
+}
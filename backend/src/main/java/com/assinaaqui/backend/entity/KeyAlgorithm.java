@@ -0,0 +1,54 @@
+package com.assinaaqui.backend.entity;
+
+/**
+ * Algoritmos de chave suportados para os usuários. O rótulo é o valor gravado em
+ * Signature.algorithm e é por ele que a verificação escolhe o algoritmo de cada assinatura.
+ */
+public enum KeyAlgorithm {
+
+    RSA("RSA", "SHA256withRSA", "SHA-256 with RSA"),
+    EC_P256("EC", "SHA256withECDSA", "SHA-256 with ECDSA P-256"),
+    ED25519("Ed25519", "Ed25519", "Ed25519");
+
+    private final String keyAlgorithm;
+    private final String signatureAlgorithm;
+    private final String label;
+
+    KeyAlgorithm(String keyAlgorithm, String signatureAlgorithm, String label) {
+        this.keyAlgorithm = keyAlgorithm;
+        this.signatureAlgorithm = signatureAlgorithm;
+        this.label = label;
+    }
+
+    /**
+     * Nome JCA usado por KeyPairGenerator e KeyFactory
+     */
+    public String getKeyAlgorithm() {
+        return keyAlgorithm;
+    }
+
+    /**
+     * Nome JCA usado por java.security.Signature
+     */
+    public String getSignatureAlgorithm() {
+        return signatureAlgorithm;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Algoritmo correspondente ao rótulo gravado numa assinatura
+     * @param label Valor de Signature.algorithm
+     * @return Algoritmo da assinatura
+     */
+    public static KeyAlgorithm fromLabel(String label) {
+        for (KeyAlgorithm algorithm : values()) {
+            if (algorithm.label.equals(label)) {
+                return algorithm;
+            }
+        }
+        throw new IllegalArgumentException("Algoritmo de assinatura desconhecido: " + label);
+    }
+}
@@ -6,17 +6,24 @@ import jakarta.validation.constraints.NotNull;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.GenericGenerator;
 
+import java.sql.Blob;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "signatures")
+@Table(name = "signatures", indexes = {
+    // Verificação por texto: hash do texto + digest da assinatura, sem comparar o valor inteiro
+    @Index(name = "idx_signatures_text_hash_digest", columnList = "text_hash, signature_digest"),
+    // Listagem por usuário paginada por chave em (created_at, id)
+    @Index(name = "idx_signatures_user_created", columnList = "user_id, created_at, id")
+})
 public class Signature {
 
+    // UUID ordenado pelo tempo: inserções no fim do índice em vez de espalhadas pela árvore
     @Id
     @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @GenericGenerator(name = "UUID", type = TimeOrderedUuidGenerator.class)
     @Column(columnDefinition = "BINARY(16)")
     private UUID id;
 
@@ -25,20 +32,34 @@ public class Signature {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @NotBlank(message = "Texto original é obrigatório")
+    // Texto assinado pela API JSON, guardado uma vez por hash em signed_contents e compartilhado
+    // pelas assinaturas do mesmo texto; documentos enviados por streaming ficam em documentContent
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "content_hash")
+    private SignedContent content;
+
     @Lob
-    @Column(nullable = false, columnDefinition = "TEXT")
-    private String originalText;
+    @Column(name = "document_content")
+    private Blob documentContent;
+
+    private Long contentLength;
+
+    @Column(length = 100)
+    private String contentType;
 
     @NotBlank(message = "Hash do texto é obrigatório")
     @Column(nullable = false, length = 64)
     private String textHash;
 
+    // Base64 da assinatura: 344 caracteres para RSA-2048, menos para EC e Ed25519
     @NotBlank(message = "Assinatura é obrigatória")
-    @Lob
-    @Column(nullable = false, columnDefinition = "TEXT")
+    @Column(nullable = false, length = 1024)
     private String signature;
 
+    // SHA-256 em hexadecimal do valor da assinatura, chave de busca de tamanho fixo
+    @Column(name = "signature_digest", nullable = false, length = 64)
+    private String signatureDigest;
+
     @NotBlank(message = "Algoritmo é obrigatório")
     @Column(nullable = false, length = 50)
     private String algorithm;
@@ -47,15 +68,19 @@ public class Signature {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Total de verificações já gravado; o VerificationCounter soma os incrementos em lote
+    @Column(name = "verification_count", nullable = false)
+    private long verificationCount;
+
     @OneToMany(mappedBy = "signature", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<VerificationLog> verificationLogs;
 
     // Constructors
     public Signature() {}
 
-    public Signature(User user, String originalText, String textHash, String signature, String algorithm) {
+    public Signature(User user, SignedContent content, String textHash, String signature, String algorithm) {
         this.user = user;
-        this.originalText = originalText;
+        this.content = content;
         this.textHash = textHash;
         this.signature = signature;
         this.algorithm = algorithm;
@@ -78,12 +103,43 @@ public class Signature {
         this.user = user;
     }
 
+    public SignedContent getContent() {
+        return content;
+    }
+
+    public void setContent(SignedContent content) {
+        this.content = content;
+    }
+
+    /**
+     * Texto assinado; null para documentos enviados por streaming
+     */
     public String getOriginalText() {
-        return originalText;
+        return content != null ? content.getText() : null;
+    }
+
+    public Blob getDocumentContent() {
+        return documentContent;
+    }
+
+    public void setDocumentContent(Blob documentContent) {
+        this.documentContent = documentContent;
     }
 
-    public void setOriginalText(String originalText) {
-        this.originalText = originalText;
+    public Long getContentLength() {
+        return contentLength;
+    }
+
+    public void setContentLength(Long contentLength) {
+        this.contentLength = contentLength;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
     }
 
     public String getTextHash() {
@@ -102,6 +158,14 @@ public class Signature {
         this.signature = signature;
     }
 
+    public String getSignatureDigest() {
+        return signatureDigest;
+    }
+
+    public void setSignatureDigest(String signatureDigest) {
+        this.signatureDigest = signatureDigest;
+    }
+
     public String getAlgorithm() {
         return algorithm;
     }
@@ -118,6 +182,14 @@ public class Signature {
         this.createdAt = createdAt;
     }
 
+    public long getVerificationCount() {
+        return verificationCount;
+    }
+
+    public void setVerificationCount(long verificationCount) {
+        this.verificationCount = verificationCount;
+    }
+
     public List<VerificationLog> getVerificationLogs() {
         return verificationLogs;
     }
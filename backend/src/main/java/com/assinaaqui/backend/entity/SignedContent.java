@@ -0,0 +1,93 @@
+package com.assinaaqui.backend.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Texto assinado guardado uma única vez, endereçado pelo seu hash SHA-256. As assinaturas do mesmo
+ * texto referenciam a mesma linha, e refCount conta quantas a referenciam.
+ */
+@Entity
+@Table(name = "signed_contents")
+public class SignedContent implements Persistable<String> {
+
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String hash;
+
+    // TEXT sem @Lob: no PostgreSQL o @Lob de String vira oid e exigiria a API de large objects
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String text;
+
+    // Alterado só por UPDATE atômico (SignedContentRepository.addReferences), nunca pela entidade
+    @Column(name = "ref_count", nullable = false)
+    private long refCount;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // O id vem do conteúdo: sem isto o save() faria merge, que sobrescreveria uma linha já existente
+    @Transient
+    private boolean persisted;
+
+    // Constructors
+    public SignedContent() {}
+
+    public SignedContent(String hash, String text) {
+        this.hash = hash;
+        this.text = text;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
+    @Override
+    public String getId() {
+        return hash;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    // Getters and Setters
+    public String getHash() {
+        return hash;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public long getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(long refCount) {
+        this.refCount = refCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
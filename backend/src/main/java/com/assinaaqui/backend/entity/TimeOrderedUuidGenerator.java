@@ -0,0 +1,50 @@
+package com.assinaaqui.backend.entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gerador de UUIDs ordenados pelo tempo no formato da versão 7 (RFC 9562): 48 bits com o
+ * instante em milissegundos, 12 bits de sequência dentro do mesmo milissegundo e 62 bits
+ * aleatórios. Como BINARY(16) os ids novos entram sempre no fim do índice da chave primária,
+ * e a parte aleatória mantém os links de verificação impossíveis de adivinhar.
+ */
+public class TimeOrderedUuidGenerator implements IdentifierGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // Instante em milissegundos deslocado 12 bits, somado à sequência do último id gerado
+    private static final AtomicLong lastTimestampAndSequence = new AtomicLong();
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return next();
+    }
+
+    /**
+     * Gera um novo UUID maior que todos os gerados antes nesta JVM
+     * @return UUID versão 7
+     */
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long timestampAndSequence;
+        while (true) {
+            long last = lastTimestampAndSequence.get();
+            // Mais de 4096 ids no mesmo milissegundo avançam o instante em 1 ms; a ordem é preservada
+            timestampAndSequence = Math.max(now, last + 1);
+            if (lastTimestampAndSequence.compareAndSet(last, timestampAndSequence)) {
+                break;
+            }
+        }
+
+        long timestamp = timestampAndSequence >>> 12;
+        long sequence = timestampAndSequence & 0xFFFL;
+        long mostSigBits = (timestamp << 16) | 0x7000L | sequence;
+        long leastSigBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -31,14 +31,16 @@ public class User {
     @Column(nullable = false)
     private String password;
 
-    @Lob
     @Column(nullable = false, columnDefinition = "TEXT")
     private String publicKey;
 
-    @Lob
     @Column(nullable = false, columnDefinition = "TEXT")
     private String privateKey;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "key_algorithm", nullable = false, length = 20)
+    private KeyAlgorithm keyAlgorithm = KeyAlgorithm.RSA;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -106,6 +108,14 @@ public class User {
         this.privateKey = privateKey;
     }
 
+    public KeyAlgorithm getKeyAlgorithm() {
+        return keyAlgorithm;
+    }
+
+    public void setKeyAlgorithm(KeyAlgorithm keyAlgorithm) {
+        this.keyAlgorithm = keyAlgorithm;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
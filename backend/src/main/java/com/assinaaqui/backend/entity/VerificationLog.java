@@ -2,16 +2,23 @@ package com.assinaaqui.backend.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
-import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "verification_logs")
+@Table(name = "verification_logs", indexes = {
+    @Index(name = "idx_verification_logs_signature", columnList = "signature_id, verified_at")
+})
 public class VerificationLog {
 
+    public static final int IP_ADDRESS_MAX_LENGTH = 45;
+    public static final int USER_AGENT_MAX_LENGTH = 500;
+
+    // Sequência com blocos de 50 ids (otimizador pooled): o Hibernate não precisa executar cada
+    // INSERT para descobrir o id, e os lotes do VerificationLogWriter saem como JDBC batch
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "verification_log_seq")
+    @SequenceGenerator(name = "verification_log_seq", sequenceName = "verification_logs_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Assinatura é obrigatória")
@@ -19,17 +26,17 @@ public class VerificationLog {
     @JoinColumn(name = "signature_id", nullable = false)
     private Signature signature;
 
-    @CreationTimestamp
+    // Preenchido com o momento da verificação, que pode anteceder a gravação assíncrona
     @Column(nullable = false, updatable = false)
     private LocalDateTime verifiedAt;
 
-    @Column(length = 45)
+    @Column(length = IP_ADDRESS_MAX_LENGTH)
     private String ipAddress;
 
     @Column(nullable = false)
     private Boolean isValid;
 
-    @Column(length = 500)
+    @Column(length = USER_AGENT_MAX_LENGTH)
     private String userAgent;
 
     // Constructors
@@ -42,6 +49,13 @@ public class VerificationLog {
         this.userAgent = userAgent;
     }
 
+    @PrePersist
+    void onCreate() {
+        if (verifiedAt == null) {
+            verifiedAt = LocalDateTime.now();
+        }
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
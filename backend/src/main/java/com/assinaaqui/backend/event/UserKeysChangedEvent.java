@@ -0,0 +1,8 @@
+package com.assinaaqui.backend.event;
+
+/**
+ * Publicado quando o par de chaves de um usuário é substituído, para que os caches que
+ * dependem da chave pública antiga descartem suas entradas
+ */
+public record UserKeysChangedEvent(Long userId) {
+}
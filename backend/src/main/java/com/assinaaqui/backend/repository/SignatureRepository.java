@@ -1,10 +1,19 @@
 package com.assinaaqui.backend.repository;
 
+import com.assinaaqui.backend.dto.SignResponse;
 import com.assinaaqui.backend.entity.Signature;
 import com.assinaaqui.backend.entity.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,6 +24,41 @@ public interface SignatureRepository extends JpaRepository<Signature, UUID> {
     List<Signature> findByUser(User user);
     
     List<Signature> findByUserOrderByCreatedAtDesc(User user);
+
+    // A verificação usa a chave pública do signatário e o texto: vêm na mesma consulta
+    @EntityGraph(attributePaths = {"user", "content"})
+    Optional<Signature> findWithUserAndContentById(UUID id);
+
+    // Listagem paginada por chave: projeção direta no DTO, sem carregar texto nem documento
+    @Query("select new com.assinaaqui.backend.dto.SignResponse(s.id, s.textHash, s.signature, s.algorithm, s.createdAt) " +
+           "from Signature s where s.user.id = :userId order by s.createdAt desc, s.id desc")
+    List<SignResponse> findPageByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Query("select new com.assinaaqui.backend.dto.SignResponse(s.id, s.textHash, s.signature, s.algorithm, s.createdAt) " +
+           "from Signature s where s.user.id = :userId " +
+           "and (s.createdAt < :createdAt or (s.createdAt = :createdAt and s.id < :id)) " +
+           "order by s.createdAt desc, s.id desc")
+    List<SignResponse> findPageByUserIdAfter(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") UUID id, Limit limit);
     
-    Optional<Signature> findByTextHashAndSignature(String textHash, String signature);
+    // Assinaturas determinísticas (RSA PKCS#1, Ed25519) do mesmo texto pelo mesmo usuário se repetem
+    @EntityGraph(attributePaths = {"user", "content"})
+    Optional<Signature> findFirstByTextHashAndSignatureDigestOrderByCreatedAtAsc(String textHash, String signatureDigest);
+
+    @Query("select s from Signature s join fetch s.user where s.id in :ids")
+    List<Signature> findAllWithUserByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("select s from Signature s join fetch s.user where s.textHash in :hashes and s.signatureDigest in :digests")
+    List<Signature> findAllWithUserByTextHashInAndSignatureDigestIn(@Param("hashes") Collection<String> hashes,
+                                                                    @Param("digests") Collection<String> digests);
+
+    // Transação de leitura e escrita para ir ao primário com réplicas: o VerificationCounter
+    // compara este valor com os incrementos que acabou de gravar
+    @Transactional
+    @Query("select s.id, s.verificationCount from Signature s where s.id in :ids")
+    List<Object[]> findVerificationCountsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("update Signature s set s.verificationCount = s.verificationCount + :delta where s.id = :id")
+    int incrementVerificationCount(@Param("id") UUID id, @Param("delta") long delta);
 }
\ No newline at end of file
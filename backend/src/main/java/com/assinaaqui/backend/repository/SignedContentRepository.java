@@ -0,0 +1,31 @@
+package com.assinaaqui.backend.repository;
+
+import com.assinaaqui.backend.entity.SignedContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SignedContentRepository extends JpaRepository<SignedContent, String> {
+
+    // Transação de leitura e escrita para ir ao primário com réplicas: uma réplica atrasada diria
+    // que o texto não existe e o INSERT seguinte colidiria com a linha do primário
+    @Override
+    @Transactional
+    boolean existsById(String hash);
+
+    @Modifying
+    @Query("update SignedContent c set c.refCount = c.refCount + :delta where c.hash = :hash")
+    int addReferences(@Param("hash") String hash, @Param("delta") long delta);
+
+    // Limpa o contexto de persistência: uma linha removida não pode continuar lá como entidade gerenciada
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("delete from SignedContent c where c.refCount = 0 and c.createdAt < :cutoff")
+    int deleteUnreferencedCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
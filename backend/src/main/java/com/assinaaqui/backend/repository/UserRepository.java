@@ -3,13 +3,18 @@ package com.assinaaqui.backend.repository;
 import com.assinaaqui.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
-    
+
+    // Transação de leitura e escrita para ir ao primário com réplicas: o login e as requisições
+    // logo após o cadastro não podem depender do atraso da réplica
+    @Transactional
     Optional<User> findByEmail(String email);
-    
+
+    @Transactional
     boolean existsByEmail(String email);
 }
\ No newline at end of file
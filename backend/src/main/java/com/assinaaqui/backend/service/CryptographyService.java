@@ -1,31 +1,101 @@
 package com.assinaaqui.backend.service;
 
+import com.assinaaqui.backend.entity.KeyAlgorithm;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.security.*;
+import java.security.spec.ECGenParameterSpec;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.X509EncodedKeySpec;
 import java.util.Base64;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 
 @Service
 public class CryptographyService {
 
-    private static final String ALGORITHM = "RSA";
-    private static final String SIGNATURE_ALGORITHM = "SHA256withRSA";
     private static final String HASH_ALGORITHM = "SHA-256";
-    private static final int KEY_SIZE = 2048;
+    private static final int RSA_KEY_SIZE = 2048;
+    private static final String EC_CURVE = "secp256r1";
+    private static final int DEFAULT_KEY_CACHE_SIZE = 1000;
+    private static final int DEFAULT_ENGINE_POOL_MAX_IDLE = 64;
+    private static final int STREAM_BUFFER_SIZE = 8192;
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    // Chaves já decodificadas, indexadas pelo SHA-256 da representação Base64 (que identifica a
+    // chave e o algoritmo, já que a codificação DER inclui o OID). O cache não guarda o texto da
+    // chave: uma segunda cópia de cada chave privada ficaria na heap enquanto a entrada existisse
+    private final LruCache<String, PrivateKey> privateKeyCache;
+    private final LruCache<String, PublicKey> publicKeyCache;
+
+    // Motores JCA reaproveitados entre requisições em vez de um getInstance por chamada
+    private final EnginePool<MessageDigest> digestPool;
+    private final Map<KeyAlgorithm, EnginePool<Signature>> signaturePools = new EnumMap<>(KeyAlgorithm.class);
+
+    public CryptographyService() {
+        this(DEFAULT_KEY_CACHE_SIZE, DEFAULT_ENGINE_POOL_MAX_IDLE);
+    }
+
+    @Autowired
+    public CryptographyService(
+            @Value("${crypto.key-cache.max-size:1000}") int keyCacheMaxSize,
+            @Value("${crypto.engine-pool.max-idle:64}") int enginePoolMaxIdle) {
+        this.privateKeyCache = new LruCache<>(keyCacheMaxSize);
+        this.publicKeyCache = new LruCache<>(keyCacheMaxSize);
+        this.digestPool = new EnginePool<>(
+                () -> newEngine(() -> MessageDigest.getInstance(HASH_ALGORITHM)),
+                MessageDigest::reset,
+                enginePoolMaxIdle);
+        // Signature guarda a última chave de initSign/initVerify; antes de voltar ao pool é
+        // reinicializada com uma chave pública descartável para não manter a chave privada alcançável
+        for (KeyAlgorithm algorithm : KeyAlgorithm.values()) {
+            PublicKey scrubKey = ScrubKeys.get(algorithm);
+            this.signaturePools.put(algorithm, new EnginePool<>(
+                    () -> newEngine(() -> Signature.getInstance(algorithm.getSignatureAlgorithm())),
+                    signature -> {
+                        try {
+                            signature.initVerify(scrubKey);
+                        } catch (InvalidKeyException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    },
+                    enginePoolMaxIdle));
+        }
+    }
 
     /**
      * Gera um par de chaves RSA (pública e privada)
      * @return Map contendo as chaves pública e privada em formato Base64
      */
+    @Timed("crypto.keygen")
     public Map<String, String> generateKeyPair() {
+        return generateKeyPair(KeyAlgorithm.RSA);
+    }
+
+    /**
+     * Gera um par de chaves do algoritmo informado
+     * @param algorithm Algoritmo das chaves
+     * @return Map contendo as chaves pública (X.509) e privada (PKCS#8) em formato Base64
+     */
+    @Timed("crypto.keygen")
+    public Map<String, String> generateKeyPair(KeyAlgorithm algorithm) {
         try {
-            KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(ALGORITHM);
-            keyPairGenerator.initialize(KEY_SIZE);
+            KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(algorithm.getKeyAlgorithm());
+            switch (algorithm) {
+                case RSA -> keyPairGenerator.initialize(RSA_KEY_SIZE);
+                case EC_P256 -> keyPairGenerator.initialize(new ECGenParameterSpec(EC_CURVE));
+                case ED25519 -> {
+                    // Curva fixa, sem parâmetros
+                }
+            }
             KeyPair keyPair = keyPairGenerator.generateKeyPair();
 
             String publicKey = Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded());
@@ -36,7 +106,7 @@ public class CryptographyService {
             keys.put("privateKey", privateKey);
 
             return keys;
-        } catch (NoSuchAlgorithmException e) {
+        } catch (GeneralSecurityException e) {
             throw new RuntimeException("Erro ao gerar par de chaves: " + e.getMessage(), e);
         }
     }
@@ -46,46 +116,118 @@ public class CryptographyService {
      * @param text Texto para calcular o hash
      * @return Hash SHA-256 em formato hexadecimal
      */
+    @Timed("crypto.hash")
     public String calculateSHA256Hash(String text) {
+        return encodeHex(calculateSHA256Digest(text));
+    }
+
+    /**
+     * Calcula o hash SHA-256 de um texto sem codificá-lo
+     * @param text Texto para calcular o hash
+     * @return Os 32 bytes do hash SHA-256
+     */
+    public byte[] calculateSHA256Digest(String text) {
+        MessageDigest digest = digestPool.borrow();
         try {
-            MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
-            byte[] hashBytes = digest.digest(text.getBytes(StandardCharsets.UTF_8));
-            
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hashBytes) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
+            return digest.digest(text.getBytes(StandardCharsets.UTF_8));
+        } finally {
+            digestPool.release(digest);
+        }
+    }
+
+    /**
+     * Calcula o hash SHA-256 de um fluxo de bytes lido em blocos, copiando cada bloco para o destino
+     * informado, sem manter o conteúdo inteiro em memória
+     * @param input Fluxo com o conteúdo
+     * @param copyTo Destino que recebe uma cópia dos bytes lidos
+     * @return Hash SHA-256 em formato hexadecimal
+     */
+    @Timed("crypto.hash")
+    public String calculateSHA256Hash(InputStream input, OutputStream copyTo) throws IOException {
+        MessageDigest digest = digestPool.borrow();
+        try {
+            byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                copyTo.write(buffer, 0, read);
             }
-            return hexString.toString();
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Erro ao calcular hash SHA-256: " + e.getMessage(), e);
+            return encodeHex(digest.digest());
+        } finally {
+            digestPool.release(digest);
         }
     }
 
+    /**
+     * Codifica bytes em hexadecimal minúsculo, escrevendo direto num buffer do tamanho exato
+     * @param bytes Bytes a codificar
+     * @return Representação hexadecimal
+     */
+    public static String encodeHex(byte[] bytes) {
+        byte[] hex = new byte[bytes.length * 2];
+        for (int i = 0, j = 0; i < bytes.length; i++) {
+            int value = bytes[i] & 0xff;
+            hex[j++] = HEX_DIGITS[value >>> 4];
+            hex[j++] = HEX_DIGITS[value & 0x0f];
+        }
+        // Latin-1 permite que a String use o array compacto sem nova conversão de caracteres
+        return new String(hex, StandardCharsets.ISO_8859_1);
+    }
+
     /**
      * Assina um hash usando a chave privada
      * @param hash Hash a ser assinado
      * @param privateKeyBase64 Chave privada em formato Base64
      * @return Assinatura em formato Base64
      */
+    @Timed("crypto.sign")
     public String signHash(String hash, String privateKeyBase64) {
+        return signHash(hash, privateKeyBase64, KeyAlgorithm.RSA);
+    }
+
+    /**
+     * Assina um hash usando a chave privada do algoritmo informado
+     * @param hash Hash a ser assinado
+     * @param privateKeyBase64 Chave privada em formato Base64
+     * @param algorithm Algoritmo da chave
+     * @return Assinatura em formato Base64
+     */
+    @Timed("crypto.sign")
+    public String signHash(String hash, String privateKeyBase64, KeyAlgorithm algorithm) {
+        try {
+            return sign(hash, parsePrivateKey(privateKeyBase64, algorithm), algorithm);
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao assinar hash: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Assina um hash com uma chave privada já decodificada, para quem assina vários hashes seguidos
+     * @param hash Hash a ser assinado
+     * @param privateKey Chave privada obtida por {@link #parsePrivateKey(String, KeyAlgorithm)}
+     * @param algorithm Algoritmo da chave
+     * @return Assinatura em formato Base64
+     */
+    @Timed("crypto.sign")
+    public String signHash(String hash, PrivateKey privateKey, KeyAlgorithm algorithm) {
         try {
-            byte[] privateKeyBytes = Base64.getDecoder().decode(privateKeyBase64);
-            PKCS8EncodedKeySpec keySpec = new PKCS8EncodedKeySpec(privateKeyBytes);
-            KeyFactory keyFactory = KeyFactory.getInstance(ALGORITHM);
-            PrivateKey privateKey = keyFactory.generatePrivate(keySpec);
+            return sign(hash, privateKey, algorithm);
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao assinar hash: " + e.getMessage(), e);
+        }
+    }
 
-            Signature signature = Signature.getInstance(SIGNATURE_ALGORITHM);
+    private String sign(String hash, PrivateKey privateKey, KeyAlgorithm algorithm) throws GeneralSecurityException {
+        EnginePool<Signature> signaturePool = signaturePools.get(algorithm);
+        Signature signature = signaturePool.borrow();
+        try {
             signature.initSign(privateKey);
             signature.update(hash.getBytes(StandardCharsets.UTF_8));
 
             byte[] signatureBytes = signature.sign();
             return Base64.getEncoder().encodeToString(signatureBytes);
-        } catch (Exception e) {
-            throw new RuntimeException("Erro ao assinar hash: " + e.getMessage(), e);
+        } finally {
+            signaturePool.release(signature);
         }
     }
 
@@ -96,21 +238,37 @@ public class CryptographyService {
      * @param publicKeyBase64 Chave pública em formato Base64
      * @return true se a assinatura for válida, false caso contrário
      */
+    @Timed("crypto.verify")
     public boolean verifySignature(String hash, String signatureBase64, String publicKeyBase64) {
+        return verifySignature(hash, signatureBase64, publicKeyBase64, KeyAlgorithm.RSA);
+    }
+
+    /**
+     * Verifica uma assinatura usando a chave pública do algoritmo informado
+     * @param hash Hash original
+     * @param signatureBase64 Assinatura em formato Base64
+     * @param publicKeyBase64 Chave pública em formato Base64
+     * @param algorithm Algoritmo com que a assinatura foi feita
+     * @return true se a assinatura for válida, false caso contrário
+     */
+    @Timed("crypto.verify")
+    public boolean verifySignature(String hash, String signatureBase64, String publicKeyBase64, KeyAlgorithm algorithm) {
         try {
-            byte[] publicKeyBytes = Base64.getDecoder().decode(publicKeyBase64);
-            X509EncodedKeySpec keySpec = new X509EncodedKeySpec(publicKeyBytes);
-            KeyFactory keyFactory = KeyFactory.getInstance(ALGORITHM);
-            PublicKey publicKey = keyFactory.generatePublic(keySpec);
+            PublicKey publicKey = parsePublicKey(publicKeyBase64, algorithm);
 
-            Signature signature = Signature.getInstance(SIGNATURE_ALGORITHM);
-            signature.initVerify(publicKey);
-            signature.update(hash.getBytes(StandardCharsets.UTF_8));
+            EnginePool<Signature> signaturePool = signaturePools.get(algorithm);
+            Signature signature = signaturePool.borrow();
+            try {
+                signature.initVerify(publicKey);
+                signature.update(hash.getBytes(StandardCharsets.UTF_8));
 
-            byte[] signatureBytes = Base64.getDecoder().decode(signatureBase64);
-            return signature.verify(signatureBytes);
-        } catch (IllegalArgumentException e) {
-            // Invalid Base64 signature
+                byte[] signatureBytes = Base64.getDecoder().decode(signatureBase64);
+                return signature.verify(signatureBytes);
+            } finally {
+                signaturePool.release(signature);
+            }
+        } catch (IllegalArgumentException | SignatureException e) {
+            // Invalid Base64 signature, or an encoding the algorithm rejects (ECDSA DER)
             return false;
         } catch (Exception e) {
             throw new RuntimeException("Erro ao verificar assinatura: " + e.getMessage(), e);
@@ -146,4 +304,128 @@ public class CryptographyService {
         String hash = calculateSHA256Hash(originalText);
         return verifySignature(hash, signatureBase64, publicKeyBase64);
     }
+
+    /**
+     * Decodifica uma chave privada PKCS#8, reaproveitando o resultado de chamadas anteriores
+     * @param privateKeyBase64 Chave privada em formato Base64
+     * @return Chave privada pronta para uso
+     */
+    public PrivateKey parsePrivateKey(String privateKeyBase64) {
+        return parsePrivateKey(privateKeyBase64, KeyAlgorithm.RSA);
+    }
+
+    /**
+     * Decodifica uma chave privada PKCS#8 do algoritmo informado, reaproveitando o resultado de
+     * chamadas anteriores
+     * @param privateKeyBase64 Chave privada em formato Base64
+     * @param algorithm Algoritmo da chave
+     * @return Chave privada pronta para uso
+     */
+    public PrivateKey parsePrivateKey(String privateKeyBase64, KeyAlgorithm algorithm) {
+        return privateKeyCache.get(keyFingerprint(privateKeyBase64), fingerprint -> {
+            try {
+                byte[] privateKeyBytes = Base64.getDecoder().decode(privateKeyBase64);
+                KeyFactory keyFactory = KeyFactory.getInstance(algorithm.getKeyAlgorithm());
+                return keyFactory.generatePrivate(new PKCS8EncodedKeySpec(privateKeyBytes));
+            } catch (GeneralSecurityException e) {
+                throw new RuntimeException("Erro ao decodificar chave privada: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Decodifica uma chave pública X.509, reaproveitando o resultado de chamadas anteriores
+     * @param publicKeyBase64 Chave pública em formato Base64
+     * @return Chave pública pronta para uso
+     */
+    public PublicKey parsePublicKey(String publicKeyBase64) {
+        return parsePublicKey(publicKeyBase64, KeyAlgorithm.RSA);
+    }
+
+    /**
+     * Decodifica uma chave pública X.509 do algoritmo informado, reaproveitando o resultado de
+     * chamadas anteriores
+     * @param publicKeyBase64 Chave pública em formato Base64
+     * @param algorithm Algoritmo da chave
+     * @return Chave pública pronta para uso
+     */
+    public PublicKey parsePublicKey(String publicKeyBase64, KeyAlgorithm algorithm) {
+        return publicKeyCache.get(keyFingerprint(publicKeyBase64), fingerprint -> {
+            try {
+                byte[] publicKeyBytes = Base64.getDecoder().decode(publicKeyBase64);
+                KeyFactory keyFactory = KeyFactory.getInstance(algorithm.getKeyAlgorithm());
+                return keyFactory.generatePublic(new X509EncodedKeySpec(publicKeyBytes));
+            } catch (GeneralSecurityException e) {
+                throw new RuntimeException("Erro ao decodificar chave pública: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Chave dos caches de chaves decodificadas
+     * @param keyBase64 Chave em formato Base64
+     * @return SHA-256 do texto Base64 em hexadecimal
+     */
+    String keyFingerprint(String keyBase64) {
+        return encodeHex(calculateSHA256Digest(keyBase64));
+    }
+
+    /**
+     * Estatísticas dos caches de chaves decodificadas
+     * @return Map com acertos, falhas, remoções e tamanho de cada cache
+     */
+    public Map<String, Long> getKeyCacheStatistics() {
+        Map<String, Long> stats = new HashMap<>();
+        stats.put("privateKeyHits", privateKeyCache.hits());
+        stats.put("privateKeyMisses", privateKeyCache.misses());
+        stats.put("privateKeyEvictions", privateKeyCache.evictions());
+        stats.put("privateKeySize", (long) privateKeyCache.size());
+        stats.put("publicKeyHits", publicKeyCache.hits());
+        stats.put("publicKeyMisses", publicKeyCache.misses());
+        stats.put("publicKeyEvictions", publicKeyCache.evictions());
+        stats.put("publicKeySize", (long) publicKeyCache.size());
+        return stats;
+    }
+
+    /**
+     * Chaves públicas descartáveis, uma por algoritmo, geradas uma vez por JVM. Servem só para
+     * substituir a chave guardada pelos motores ociosos; nunca verificam nada.
+     */
+    private static final class ScrubKeys {
+        private static final Map<KeyAlgorithm, PublicKey> KEYS = new EnumMap<>(KeyAlgorithm.class);
+
+        static {
+            for (KeyAlgorithm algorithm : KeyAlgorithm.values()) {
+                try {
+                    KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm.getKeyAlgorithm());
+                    switch (algorithm) {
+                        case RSA -> generator.initialize(1024);
+                        case EC_P256 -> generator.initialize(new ECGenParameterSpec(EC_CURVE));
+                        case ED25519 -> {
+                            // Curva fixa, sem parâmetros
+                        }
+                    }
+                    KEYS.put(algorithm, generator.generateKeyPair().getPublic());
+                } catch (GeneralSecurityException e) {
+                    throw new ExceptionInInitializerError(e);
+                }
+            }
+        }
+
+        static PublicKey get(KeyAlgorithm algorithm) {
+            return KEYS.get(algorithm);
+        }
+    }
+
+    private interface EngineFactory<T> {
+        T create() throws NoSuchAlgorithmException;
+    }
+
+    private static <T> T newEngine(EngineFactory<T> factory) {
+        try {
+            return factory.create();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Algoritmo criptográfico indisponível: " + e.getMessage(), e);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.assinaaqui.backend.service;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Pool de instâncias reutilizáveis dos motores JCA (MessageDigest, Signature).
+ * Não depende da thread que pede o motor, então funciona igual em threads do Tomcat e virtuais.
+ */
+class EnginePool<T> {
+
+    private final Supplier<T> factory;
+    private final Consumer<T> reset;
+    private final int maxIdle;
+
+    private final Queue<T> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    EnginePool(Supplier<T> factory, Consumer<T> reset, int maxIdle) {
+        this.factory = factory;
+        this.reset = reset;
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * Retira um motor ocioso do pool ou cria um novo quando não houver nenhum disponível
+     * @return Motor pronto para uso exclusivo pela thread chamadora
+     */
+    T borrow() {
+        T engine = idle.poll();
+        if (engine != null) {
+            idleCount.decrementAndGet();
+            return engine;
+        }
+        return factory.get();
+    }
+
+    /**
+     * Devolve o motor ao pool; o excedente acima do limite de ociosos é descartado, assim como o
+     * motor que não pôde ser reiniciado
+     * @param engine Motor obtido por {@link #borrow()}
+     */
+    void release(T engine) {
+        try {
+            reset.accept(engine);
+        } catch (RuntimeException e) {
+            return;
+        }
+        if (idleCount.incrementAndGet() <= maxIdle) {
+            idle.offer(engine);
+        } else {
+            idleCount.decrementAndGet();
+        }
+    }
+
+    int idleCount() {
+        return idleCount.get();
+    }
+}
@@ -1,11 +1,16 @@
 package com.assinaaqui.backend.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.security.Key;
 import java.util.Date;
@@ -16,12 +21,27 @@ import java.util.function.Function;
 @Service
 public class JwtService {
 
+    // Atributo da requisição com o último token validado e suas claims
+    private static final String PARSED_TOKEN_ATTRIBUTE = JwtService.class.getName() + ".parsedToken";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    // Chave e parser são imutáveis e seguros entre threads, então são montados uma única vez
+    private Key signKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    public void init() {
+        signKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signKey)
+                .build();
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -31,20 +51,31 @@ public class JwtService {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseClaims(token);
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
+    /**
+     * Valida a assinatura do token e retorna suas claims. Dentro de uma requisição HTTP o
+     * resultado é guardado nos atributos dela, então o filtro e o controller que recebem o
+     * mesmo token fazem uma única verificação HMAC.
+     * @param token Token JWT
+     * @return Claims do token
+     */
+    @Timed("jwt.parse")
+    public Claims parseClaims(String token) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(PARSED_TOKEN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof ParsedToken parsed
+                && parsed.token().equals(token)) {
+            return parsed.claims();
+        }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        if (attributes != null) {
+            attributes.setAttribute(PARSED_TOKEN_ATTRIBUTE, new ParsedToken(token, claims), RequestAttributes.SCOPE_REQUEST);
+        }
+        return claims;
     }
 
     public String generateToken(String username) {
@@ -62,17 +93,24 @@ public class JwtService {
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                .signWith(signKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        return validateToken(parseClaims(token), username);
+    }
+
+    /**
+     * Valida claims já extraídas por {@link #parseClaims(String)}, sem novo parse
+     * @param claims Claims do token
+     * @param username Usuário esperado
+     * @return true se o token pertencer ao usuário e não estiver expirado
+     */
+    public Boolean validateToken(Claims claims, String username) {
+        return (claims.getSubject().equals(username) && !claims.getExpiration().before(new Date()));
     }
 
-    private Key getSignKey() {
-        byte[] keyBytes = secret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    private record ParsedToken(String token, Claims claims) {
     }
-}
\ No newline at end of file
+}
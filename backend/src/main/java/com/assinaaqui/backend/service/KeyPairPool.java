@@ -0,0 +1,137 @@
+package com.assinaaqui.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool de pares de chaves RSA gerados em segundo plano. O cadastro retira um par pronto em vez de
+ * procurar primos na thread da requisição; cada retirada dispara a reposição no executor dedicado
+ * e, com o pool vazio, o par é gerado na hora. Cada par é entregue uma única vez.
+ */
+@Service
+public class KeyPairPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeyPairPool.class);
+
+    @Autowired
+    private CryptographyService cryptographyService;
+
+    @Autowired
+    @Qualifier("keyPairExecutor")
+    private TaskExecutor keyPairExecutor;
+
+    @Value("${key-pool.size:32}")
+    private int targetSize;
+
+    private BlockingQueue<Map<String, String>> ready;
+
+    // Gerações já enviadas ao executor e ainda não concluídas
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicLong pooled = new AtomicLong();
+    private final AtomicLong inline = new AtomicLong();
+    private final AtomicLong generated = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        if (targetSize <= 0) {
+            return;
+        }
+        ready = new ArrayBlockingQueue<>(targetSize);
+        refill();
+    }
+
+    /**
+     * Retira um par de chaves pronto, ou gera um na hora se o pool estiver vazio
+     * @return Map contendo as chaves pública e privada em formato Base64
+     */
+    public Map<String, String> take() {
+        Map<String, String> keyPair = ready != null ? ready.poll() : null;
+        if (keyPair != null) {
+            pooled.incrementAndGet();
+        } else {
+            inline.incrementAndGet();
+            keyPair = cryptographyService.generateKeyPair();
+        }
+        refill();
+        return keyPair;
+    }
+
+    public int getReadyCount() {
+        return ready != null ? ready.size() : 0;
+    }
+
+    public int getTargetSize() {
+        return Math.max(targetSize, 0);
+    }
+
+    /**
+     * Estatísticas do pool
+     * @return Map com pares prontos, gerações em andamento, retiradas do pool e gerações na hora
+     */
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> stats = new HashMap<>();
+        stats.put("ready", (long) getReadyCount());
+        stats.put("inFlight", (long) inFlight.get());
+        stats.put("targetSize", (long) getTargetSize());
+        stats.put("pooled", pooled.get());
+        stats.put("inline", inline.get());
+        stats.put("generated", generated.get());
+        return stats;
+    }
+
+    private void refill() {
+        if (ready == null) {
+            return;
+        }
+        // Reserva de uma vez o que falta para completar o pool; cada chamada agenda no máximo isso
+        int missing;
+        while (true) {
+            int scheduled = inFlight.get();
+            missing = targetSize - ready.size() - scheduled;
+            if (missing <= 0) {
+                return;
+            }
+            if (inFlight.compareAndSet(scheduled, scheduled + missing)) {
+                break;
+            }
+        }
+
+        for (int i = 0; i < missing; i++) {
+            try {
+                keyPairExecutor.execute(this::generateOne);
+            } catch (TaskRejectedException e) {
+                // Executor em desligamento; a próxima retirada tenta de novo
+                inFlight.addAndGet(-(missing - i));
+                return;
+            }
+        }
+    }
+
+    private void generateOne() {
+        try {
+            // Com o pool cheio por concorrência entre reposições, o par excedente é descartado
+            if (ready.offer(cryptographyService.generateKeyPair())) {
+                generated.incrementAndGet();
+            }
+        } catch (RuntimeException e) {
+            logger.error("Erro ao gerar par de chaves para o pool", e);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.assinaaqui.backend.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Cache LRU limitado em número de entradas e, opcionalmente, no tempo de vida de cada uma,
+ * com contadores de acerto, falha e remoção.
+ * Seguro para uso concorrente; o cálculo do valor ausente acontece fora do bloqueio, e o valor
+ * calculado só é guardado se nenhuma invalidação aconteceu enquanto ele era carregado.
+ * Usa ReentrantLock em vez de synchronized para não prender a thread portadora
+ * quando chamado a partir de threads virtuais.
+ */
+class LruCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<K, Entry<V>> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Avança a cada invalidação (protegido por lock). invalidateIf não sabe quais carregamentos em
+    // andamento seriam atingidos, então a versão é do cache todo: uma invalidação qualquer impede
+    // que os carregamentos iniciados antes dela sejam guardados
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    LruCache(int maxSize) {
+        this(maxSize, Duration.ZERO);
+    }
+
+    /**
+     * @param maxSize Número máximo de entradas
+     * @param ttl Tempo de vida de cada entrada a partir do carregamento; zero para não expirar
+     */
+    LruCache(int maxSize, Duration ttl) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Tamanho máximo do cache deve ser positivo");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LruCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Retorna o valor associado à chave, calculando-o com a função informada em caso de falha.
+     * Valores nulos devolvidos pela função não são armazenados.
+     * @param key Chave de busca
+     * @param loader Função que produz o valor quando ele não está no cache
+     * @return Valor em cache ou recém-calculado
+     */
+    V get(K key, Function<K, V> loader) {
+        long loadGeneration;
+        lock.lock();
+        try {
+            V value = lookup(key);
+            if (value != null) {
+                hits.incrementAndGet();
+                return value;
+            }
+            loadGeneration = generation;
+        } finally {
+            lock.unlock();
+        }
+
+        misses.incrementAndGet();
+        V value = loader.apply(key);
+        if (value != null) {
+            putIfGeneration(key, value, loadGeneration);
+        }
+        return value;
+    }
+
+    /**
+     * Versão atual das invalidações, para quem carrega valores por fora de {@link #get}
+     * @return Valor a informar em {@link #putIfGeneration}
+     */
+    long generation() {
+        lock.lock();
+        try {
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Guarda um valor carregado por fora do cache, se nenhuma invalidação aconteceu desde que
+     * o carregamento começou
+     * @param key Chave
+     * @param value Valor carregado
+     * @param loadGeneration Resultado de {@link #generation()} lido antes do carregamento
+     */
+    void putIfGeneration(K key, V value, long loadGeneration) {
+        long expiresAt = ttlNanos > 0 ? System.nanoTime() + ttlNanos : 0;
+        lock.lock();
+        try {
+            // Invalidado durante o carregamento: o valor pode ter sido lido antes da mudança
+            if (loadGeneration == generation) {
+                entries.put(key, new Entry<>(value, expiresAt));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retorna o valor em cache sem carregá-lo nem alterar os contadores
+     * @param key Chave de busca
+     * @return Valor ainda válido ou null
+     */
+    V getIfPresent(K key) {
+        lock.lock();
+        try {
+            return lookup(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void invalidate(K key) {
+        lock.lock();
+        try {
+            generation++;
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove todas as entradas cujo valor satisfaz o critério; percorre o cache inteiro
+     * @param predicate Critério de remoção
+     */
+    void invalidateIf(Predicate<V> predicate) {
+        lock.lock();
+        try {
+            generation++;
+            entries.values().removeIf(entry -> predicate.test(entry.value()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void clear() {
+        lock.lock();
+        try {
+            generation++;
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int maxSize() {
+        return maxSize;
+    }
+
+    long hits() {
+        return hits.get();
+    }
+
+    long misses() {
+        return misses.get();
+    }
+
+    long evictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Fração das consultas atendidas pelo cache desde a criação
+     * @return Valor entre 0 e 1; zero antes da primeira consulta
+     */
+    double hitRatio() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    // Chamado com o bloqueio adquirido
+    private V lookup(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+
+        boolean isExpired() {
+            return expiresAt != 0 && System.nanoTime() - expiresAt > 0;
+        }
+    }
+}
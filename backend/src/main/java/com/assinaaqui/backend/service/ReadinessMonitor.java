@@ -0,0 +1,197 @@
+package com.assinaaqui.backend.service;
+
+import com.assinaaqui.backend.entity.KeyAlgorithm;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Avalia se esta réplica deve receber tráfego: requisições em andamento, fila do executor de
+ * criptografia, latência de ida e volta ao banco e aquecimento do JIT nas operações de assinatura.
+ * Acima dos limites a prontidão passa a REFUSING_TRAFFIC e o health de prontidão responde 503,
+ * para que o balanceador mande as requisições às outras réplicas.
+ */
+@Service
+public class ReadinessMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadinessMonitor.class);
+
+    @Autowired
+    @Qualifier("cryptoExecutor")
+    private ThreadPoolTaskExecutor cryptoExecutor;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private CryptographyService cryptographyService;
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${readiness.max-in-flight:200}")
+    private int maxInFlight;
+
+    @Value("${readiness.max-crypto-queue:500}")
+    private int maxCryptoQueue;
+
+    @Value("${readiness.max-db-latency-ms:250}")
+    private long maxDbLatencyMs;
+
+    @Value("${readiness.check-interval-ms:1000}")
+    private long checkIntervalMs;
+
+    @Value("${readiness.warmup.iterations:500}")
+    private int warmupIterations;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile long dbLatencyMs = -1;
+    private volatile boolean warm;
+
+    private JdbcTemplate jdbcTemplate;
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // Um banco travado não pode prender a verificação: acima disso ele já está lento demais
+        jdbcTemplate.setQueryTimeout(Math.max(1, (int) TimeUnit.MILLISECONDS.toSeconds(maxDbLatencyMs * 4)));
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "readiness-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (checkIntervalMs > 0) {
+            scheduler.scheduleWithFixedDelay(this::check, checkIntervalMs, checkIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Aquece hash, assinatura e verificação de cada algoritmo antes de aceitar tráfego, fora da
+     * thread de inicialização; até terminar a réplica fica fora da prontidão
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (warmupIterations <= 0) {
+            warm = true;
+            return;
+        }
+        scheduler.execute(() -> {
+            long started = System.nanoTime();
+            try {
+                for (KeyAlgorithm algorithm : KeyAlgorithm.values()) {
+                    Map<String, String> keyPair = cryptographyService.generateKeyPair(algorithm);
+                    for (int i = 0; i < warmupIterations; i++) {
+                        String hash = cryptographyService.calculateSHA256Hash("aquecimento " + i);
+                        String signature = cryptographyService.signHash(hash, keyPair.get("privateKey"), algorithm);
+                        cryptographyService.verifySignature(hash, signature, keyPair.get("publicKey"), algorithm);
+                    }
+                }
+                logger.info("Aquecimento concluído em {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            } catch (RuntimeException e) {
+                logger.warn("Erro no aquecimento; a réplica segue sem ele", e);
+            } finally {
+                warm = true;
+                check();
+            }
+        });
+    }
+
+    public void requestStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    public void requestFinished() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Sobrecarga imediata, avaliada a cada requisição: requisições em andamento ou fila de
+     * criptografia acima do limite. Latência do banco e aquecimento só afetam a prontidão.
+     */
+    public boolean isOverloaded() {
+        return inFlight.get() > maxInFlight || getCryptoQueueDepth() > maxCryptoQueue;
+    }
+
+    public boolean isReady() {
+        return warm && !isOverloaded() && dbLatencyMs <= maxDbLatencyMs;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getCryptoQueueDepth() {
+        return cryptoExecutor.getThreadPoolExecutor().getQueue().size();
+    }
+
+    /**
+     * Estado atual e limites de cada critério
+     * @return Map com os valores medidos e os limites configurados
+     */
+    public Map<String, Object> getDetails() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("warm", warm);
+        details.put("inFlight", getInFlight());
+        details.put("maxInFlight", maxInFlight);
+        details.put("cryptoQueueDepth", getCryptoQueueDepth());
+        details.put("maxCryptoQueue", maxCryptoQueue);
+        details.put("dbLatencyMs", dbLatencyMs);
+        details.put("maxDbLatencyMs", maxDbLatencyMs);
+        return details;
+    }
+
+    /**
+     * Mede a latência do banco e publica a mudança de prontidão, se houver
+     */
+    void check() {
+        dbLatencyMs = measureDbLatency();
+
+        ReadinessState desired = isReady() ? ReadinessState.ACCEPTING_TRAFFIC : ReadinessState.REFUSING_TRAFFIC;
+        if (applicationAvailability.getReadinessState() != desired) {
+            logger.info("Prontidão alterada para {}: {}", desired, getDetails());
+            AvailabilityChangeEvent.publish(eventPublisher, this, desired);
+        }
+    }
+
+    private long measureDbLatency() {
+        long started = System.nanoTime();
+        try {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        } catch (RuntimeException e) {
+            logger.warn("Banco indisponível na verificação de prontidão: {}", e.getMessage());
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -1,14 +1,44 @@
 package com.assinaaqui.backend.service;
 
+import com.assinaaqui.backend.config.AuthenticatedUser;
+import com.assinaaqui.backend.dto.SignResponse;
+import com.assinaaqui.backend.dto.SignatureCursor;
+import com.assinaaqui.backend.entity.KeyAlgorithm;
 import com.assinaaqui.backend.entity.Signature;
+import com.assinaaqui.backend.entity.SignedContent;
 import com.assinaaqui.backend.entity.User;
 import com.assinaaqui.backend.repository.SignatureRepository;
+import com.assinaaqui.backend.repository.UserRepository;
+import org.hibernate.engine.jdbc.BlobProxy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.PrivateKey;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 public class SignatureService {
@@ -16,59 +46,264 @@ public class SignatureService {
     @Autowired
     private SignatureRepository signatureRepository;
 
+    @Autowired
+    private UserRepository userRepository;
+
     @Autowired
     private CryptographyService cryptographyService;
 
-    public Signature signText(User user, String text) {
+    @Autowired
+    private SignedContentService signedContentService;
+
+    @Autowired
+    @Qualifier("cryptoExecutor")
+    private TaskExecutor cryptoExecutor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${signature.document.max-bytes:52428800}")
+    private long maxDocumentBytes;
+
+    @Value("${datasource.replica.urls:}")
+    private String replicaUrls;
+
+    public Signature signText(AuthenticatedUser signer, String text) {
         try {
             // Calcular hash SHA-256 do texto
             String textHash = cryptographyService.calculateSHA256Hash(text);
             
-            // Assinar o hash com a chave privada do usuário
-            String signature = cryptographyService.signHash(textHash, user.getPrivateKey());
-            
-            // Criar e salvar a assinatura
-            Signature signatureEntity = new Signature();
-            signatureEntity.setUser(user);
-            signatureEntity.setOriginalText(text);
-            signatureEntity.setTextHash(textHash);
-            signatureEntity.setSignature(signature);
-            signatureEntity.setAlgorithm("SHA-256 with RSA");
-            
-            return signatureRepository.save(signatureEntity);
+            // Assinar o hash com a chave privada do usuário, no algoritmo das chaves dele
+            KeyAlgorithm algorithm = signer.getKeyAlgorithm();
+            String signature = cryptographyService.signHash(textHash, signer.getPrivateKey(), algorithm);
+
+            // Texto guardado uma única vez por hash, fora da transação da assinatura
+            Map<String, String> textsByHash = Map.of(textHash, text);
+            signedContentService.storeMissing(textsByHash);
+
+            // Criar e salvar a assinatura junto com a nova referência ao texto
+            return new TransactionTemplate(transactionManager).execute(status -> {
+                Signature signatureEntity = new Signature();
+                signatureEntity.setUser(userReference(signer));
+                signatureEntity.setContent(signedContentService.addReferences(Map.of(textHash, 1L), textsByHash).get(textHash));
+                signatureEntity.setTextHash(textHash);
+                signatureEntity.setSignature(signature);
+                signatureEntity.setSignatureDigest(signatureDigest(signature));
+                signatureEntity.setAlgorithm(algorithm.getLabel());
+
+                return signatureRepository.save(signatureEntity);
+            });
         } catch (Exception e) {
             throw new RuntimeException("Erro ao assinar texto: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Assina vários textos de uma vez: a chave privada é decodificada uma única vez, as assinaturas
+     * RSA são distribuídas entre os núcleos pelo executor de criptografia e todas as linhas são
+     * gravadas numa só transação, em lotes JDBC. Textos repetidos no lote são guardados uma vez.
+     * @param signer Usuário que assina
+     * @param texts Textos a serem assinados
+     * @return Assinaturas persistidas, na mesma ordem dos textos
+     */
+    public List<Signature> signTexts(AuthenticatedUser signer, List<String> texts) {
+        try {
+            KeyAlgorithm algorithm = signer.getKeyAlgorithm();
+            PrivateKey privateKey = cryptographyService.parsePrivateKey(signer.getPrivateKey(), algorithm);
+            User user = userReference(signer);
+
+            List<CompletableFuture<Signature>> pending = texts.stream()
+                .map(text -> CompletableFuture.supplyAsync(() -> {
+                    String textHash = cryptographyService.calculateSHA256Hash(text);
+                    String signature = cryptographyService.signHash(textHash, privateKey, algorithm);
+                    // O conteúdo é associado na transação de gravação
+                    Signature signatureEntity = new Signature(user, null, textHash, signature, algorithm.getLabel());
+                    signatureEntity.setSignatureDigest(signatureDigest(signature));
+                    return signatureEntity;
+                }, cryptoExecutor))
+                .toList();
+
+            List<Signature> signatures = pending.stream()
+                .map(CompletableFuture::join)
+                .toList();
+
+            Map<String, String> textsByHash = new HashMap<>();
+            for (int i = 0; i < signatures.size(); i++) {
+                textsByHash.putIfAbsent(signatures.get(i).getTextHash(), texts.get(i));
+            }
+            signedContentService.storeMissing(textsByHash);
+
+            return new TransactionTemplate(transactionManager).execute(status -> {
+                Map<String, SignedContent> contents = signedContentService.addReferences(signatures.stream()
+                    .collect(Collectors.groupingBy(Signature::getTextHash, Collectors.counting())), textsByHash);
+                signatures.forEach(signature -> signature.setContent(contents.get(signature.getTextHash())));
+                return signatureRepository.saveAll(signatures);
+            });
+        } catch (CompletionException e) {
+            throw new RuntimeException("Erro ao assinar textos: " + e.getCause().getMessage(), e.getCause());
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao assinar textos: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Assina um documento lido por streaming: o conteúdo é copiado em blocos para um arquivo
+     * temporário enquanto o hash é calculado, e depois gravado no banco a partir desse arquivo
+     * @param signer Usuário que assina
+     * @param content Fluxo com o conteúdo do documento
+     * @param contentType Tipo de conteúdo informado pelo cliente
+     * @return Assinatura persistida
+     */
+    public Signature signDocument(AuthenticatedUser signer, InputStream content, String contentType) {
+        Path spool = null;
+        try {
+            spool = Files.createTempFile("assina-aqui-", ".spool");
+
+            String textHash;
+            try (OutputStream out = Files.newOutputStream(spool)) {
+                textHash = cryptographyService.calculateSHA256Hash(new LimitedInputStream(content, maxDocumentBytes), out);
+            }
+
+            long contentLength = Files.size(spool);
+            if (contentLength == 0) {
+                throw new RuntimeException("Documento vazio");
+            }
+
+            KeyAlgorithm algorithm = signer.getKeyAlgorithm();
+            String signature = cryptographyService.signHash(textHash, signer.getPrivateKey(), algorithm);
+
+            try (InputStream spooled = Files.newInputStream(spool)) {
+                Signature signatureEntity = new Signature();
+                signatureEntity.setUser(userReference(signer));
+                signatureEntity.setDocumentContent(BlobProxy.generateProxy(spooled, contentLength));
+                signatureEntity.setContentLength(contentLength);
+                signatureEntity.setContentType(contentType);
+                signatureEntity.setTextHash(textHash);
+                signatureEntity.setSignature(signature);
+                signatureEntity.setSignatureDigest(signatureDigest(signature));
+                signatureEntity.setAlgorithm(algorithm.getLabel());
+
+                // O flush precisa acontecer enquanto o arquivo temporário ainda está aberto
+                return signatureRepository.saveAndFlush(signatureEntity);
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao assinar documento: " + e.getMessage(), e);
+        } finally {
+            if (spool != null) {
+                try {
+                    Files.deleteIfExists(spool);
+                } catch (IOException ignored) {
+                    // O diretório temporário é limpo pelo sistema operacional
+                }
+            }
+        }
+    }
+
+    /**
+     * Busca a assinatura com o signatário já carregado
+     * @param id Id da assinatura
+     * @return Assinatura encontrada
+     */
     public Optional<Signature> findById(UUID id) {
-        return signatureRepository.findById(id);
+        return readWithPrimaryFallback(() -> signatureRepository.findWithUserAndContentById(id));
     }
 
+    @Transactional(readOnly = true)
     public List<Signature> findByUser(User user) {
         return signatureRepository.findByUser(user);
     }
 
+    @Transactional(readOnly = true)
     public List<Signature> findByUserOrderByCreatedAtDesc(User user) {
         return signatureRepository.findByUserOrderByCreatedAtDesc(user);
     }
 
+    /**
+     * Uma página das assinaturas do usuário, da mais recente para a mais antiga
+     * @param userId Id do usuário
+     * @param after Última assinatura da página anterior; null para a primeira página
+     * @param size Quantidade máxima de itens
+     * @return Assinaturas projetadas no DTO, sem texto nem documento
+     */
+    @Transactional(readOnly = true)
+    public List<SignResponse> findSignaturePage(Long userId, SignatureCursor after, int size) {
+        if (after == null) {
+            return signatureRepository.findPageByUserId(userId, Limit.of(size));
+        }
+        return signatureRepository.findPageByUserIdAfter(userId, after.getCreatedAt(), after.getId(), Limit.of(size));
+    }
+
     public boolean verifySignature(Signature signature) {
         try {
+            // O algoritmo vem da própria assinatura, então as antigas em RSA continuam verificando
             return cryptographyService.verifySignature(
                 signature.getTextHash(),
                 signature.getSignature(),
-                signature.getUser().getPublicKey()
+                signature.getUser().getPublicKey(),
+                KeyAlgorithm.fromLabel(signature.getAlgorithm())
             );
         } catch (Exception e) {
             return false;
         }
     }
 
-    public boolean verifySignatureByText(String originalText, String signatureValue, String publicKey) {
+    /**
+     * Verifica várias assinaturas em paralelo no executor de criptografia
+     * @param signatures Assinaturas com o usuário já carregado
+     * @return Map de id da assinatura para resultado da verificação
+     */
+    public Map<UUID, Boolean> verifySignatures(Collection<Signature> signatures) {
+        Map<UUID, CompletableFuture<Boolean>> pending = new HashMap<>();
+        for (Signature signature : signatures) {
+            pending.computeIfAbsent(signature.getId(),
+                id -> CompletableFuture.supplyAsync(() -> verifySignature(signature), cryptoExecutor));
+        }
+
+        Map<UUID, Boolean> results = new HashMap<>();
+        pending.forEach((id, result) -> results.put(id, result.join()));
+        return results;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Signature> findAllByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return signatureRepository.findAllWithUserByIdIn(ids);
+    }
+
+    /**
+     * Busca as assinaturas correspondentes a vários pares hash/assinatura com uma única consulta
+     * @param signatureValuesByHash Valores de assinatura procurados, agrupados pelo hash do texto
+     * @return Assinaturas encontradas
+     */
+    @Transactional(readOnly = true)
+    public List<Signature> findAllByHashAndSignature(Map<String, Set<String>> signatureValuesByHash) {
+        if (signatureValuesByHash.isEmpty()) {
+            return List.of();
+        }
+        Set<String> digests = new HashSet<>();
+        signatureValuesByHash.values().forEach(values -> values.forEach(value -> digests.add(signatureDigest(value))));
+
+        // Os dois IN usam o índice (text_hash, signature_digest); o filtro descarta combinações cruzadas
+        return signatureRepository.findAllWithUserByTextHashInAndSignatureDigestIn(
+                new HashSet<>(signatureValuesByHash.keySet()), digests).stream()
+            .filter(sig -> signatureValuesByHash.get(sig.getTextHash()).contains(sig.getSignature()))
+            .toList();
+    }
+
+    /**
+     * Verifica um texto contra uma assinatura informada pelo cliente
+     * @param originalText Texto original
+     * @param signatureValue Assinatura em formato Base64
+     * @param publicKey Chave pública do signatário
+     * @param algorithmLabel Rótulo gravado em Signature.algorithm
+     * @return true se a assinatura for válida
+     */
+    public boolean verifySignatureByText(String originalText, String signatureValue, String publicKey, String algorithmLabel) {
         try {
             String textHash = cryptographyService.calculateSHA256Hash(originalText);
-            return cryptographyService.verifySignature(textHash, signatureValue, publicKey);
+            return cryptographyService.verifySignature(textHash, signatureValue, publicKey, KeyAlgorithm.fromLabel(algorithmLabel));
         } catch (Exception e) {
             return false;
         }
@@ -78,7 +313,78 @@ public class SignatureService {
         return cryptographyService.calculateSHA256Hash(text);
     }
     
+    /**
+     * Busca pelo índice (text_hash, signature_digest); com assinaturas repetidas vale a mais antiga
+     * @param hash Hash SHA-256 do texto
+     * @param signatureValue Assinatura em formato Base64
+     * @return Assinatura encontrada
+     */
     public Optional<Signature> findByHashAndSignature(String hash, String signatureValue) {
-        return signatureRepository.findByTextHashAndSignature(hash, signatureValue);
+        String digest = signatureDigest(signatureValue);
+        return readWithPrimaryFallback(() -> signatureRepository.findFirstByTextHashAndSignatureDigestOrderByCreatedAtAsc(hash, digest));
+    }
+
+    /**
+     * Executa a busca numa transação somente leitura, que o roteamento manda a uma réplica. Com
+     * réplicas, uma busca sem resultado é repetida no primário: o link de verificação costuma ser
+     * aberto logo após a assinatura, antes de a linha chegar à réplica.
+     */
+    private <T> Optional<T> readWithPrimaryFallback(Supplier<Optional<T>> query) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Optional<T> result = readOnly.execute(status -> query.get());
+        if (result.isEmpty() && !replicaUrls.isBlank()) {
+            // Transação de leitura e escrita: o roteamento sempre a envia ao primário
+            result = new TransactionTemplate(transactionManager).execute(status -> query.get());
+        }
+        return result;
+    }
+
+    private String signatureDigest(String signatureValue) {
+        return cryptographyService.calculateSHA256Hash(signatureValue);
+    }
+
+    /**
+     * Referência ao usuário para a chave estrangeira, sem consultar o banco: o principal já traz
+     * tudo o que a assinatura precisa
+     */
+    private User userReference(AuthenticatedUser signer) {
+        return userRepository.getReferenceById(signer.getId());
+    }
+
+    private static class LimitedInputStream extends FilterInputStream {
+
+        private final long limit;
+        private long count;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        private void count(long read) throws IOException {
+            count += read;
+            if (count > limit) {
+                throw new IOException("Documento excede o tamanho máximo de " + limit + " bytes");
+            }
+        }
     }
 }
\ No newline at end of file
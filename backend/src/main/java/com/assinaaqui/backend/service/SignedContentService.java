@@ -0,0 +1,138 @@
+package com.assinaaqui.backend.service;
+
+import com.assinaaqui.backend.entity.SignedContent;
+import com.assinaaqui.backend.repository.SignedContentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Textos assinados endereçados pelo hash: cada texto distinto ocupa uma linha em signed_contents,
+ * e as assinaturas só guardam o hash. A gravação é feita em duas etapas para que a transação das
+ * assinaturas nunca dependa de um INSERT que pode colidir com outra requisição: primeiro os textos
+ * novos são gravados com zero referências, depois a transação soma as referências com UPDATE.
+ * Se a transação das assinaturas falhar, o texto fica sem referências; uma limpeza periódica
+ * remove essas linhas depois de um prazo bem maior que o de qualquer transação.
+ */
+@Service
+public class SignedContentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SignedContentService.class);
+
+    @Autowired
+    private SignedContentRepository signedContentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${signed-content.sweep-interval-ms:3600000}")
+    private long sweepIntervalMs;
+
+    @Value("${signed-content.orphan-grace-minutes:60}")
+    private long orphanGraceMinutes;
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        if (sweepIntervalMs <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "signed-content-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::sweep, sweepIntervalMs, sweepIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Grava os textos que ainda não existem, cada um na sua transação. Deve ser chamado antes (e
+     * fora) da transação que grava as assinaturas.
+     * @param textsByHash Textos pelo hash SHA-256
+     */
+    public void storeMissing(Map<String, String> textsByHash) {
+        textsByHash.forEach((hash, text) -> {
+            if (signedContentRepository.existsById(hash)) {
+                return;
+            }
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    signedContentRepository.saveAndFlush(new SignedContent(hash, text)));
+            } catch (DataIntegrityViolationException e) {
+                // Outra requisição gravou o mesmo texto ao mesmo tempo: a linha já existe
+            }
+        });
+    }
+
+    /**
+     * Soma as novas referências aos textos já gravados por storeMissing, na transação que grava
+     * as assinaturas, para que a contagem acompanhe as linhas que de fato existem. Um texto que
+     * não está mais lá (removido pela limpeza entre as duas etapas) é gravado de novo nesta transação.
+     * @param references Quantidade de novas referências por hash
+     * @param textsByHash Textos pelo hash, os mesmos passados a storeMissing
+     * @return Referência a cada conteúdo pelo hash, sem carregar o texto
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<String, SignedContent> addReferences(Map<String, Long> references, Map<String, String> textsByHash) {
+        Map<String, SignedContent> contents = new HashMap<>();
+        // Em ordem de hash: transações concorrentes travam as linhas na mesma sequência, sem deadlock
+        new TreeMap<>(references).forEach((hash, count) -> {
+            if (signedContentRepository.addReferences(hash, count) != 1) {
+                String text = textsByHash.get(hash);
+                if (text == null) {
+                    throw new RuntimeException("Conteúdo assinado não encontrado: " + hash);
+                }
+                signedContentRepository.saveAndFlush(new SignedContent(hash, text));
+                signedContentRepository.addReferences(hash, count);
+            }
+            contents.put(hash, signedContentRepository.getReferenceById(hash));
+        });
+        return contents;
+    }
+
+    /**
+     * Remove os textos sem nenhuma assinatura gravados antes do prazo informado
+     * @param olderThan Idade mínima da linha; deve superar a duração de qualquer transação de assinatura
+     * @return Quantidade de linhas removidas
+     */
+    public int deleteUnreferenced(Duration olderThan) {
+        return signedContentRepository.deleteUnreferencedCreatedBefore(LocalDateTime.now().minus(olderThan));
+    }
+
+    private void sweep() {
+        try {
+            int deleted = deleteUnreferenced(Duration.ofMinutes(orphanGraceMinutes));
+            if (deleted > 0) {
+                logger.info("Removidos {} textos assinados sem referências", deleted);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Erro ao remover textos assinados sem referências", e);
+        }
+    }
+}
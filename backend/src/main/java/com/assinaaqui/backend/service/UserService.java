@@ -1,15 +1,25 @@
 package com.assinaaqui.backend.service;
 
+import com.assinaaqui.backend.config.AuthenticatedUser;
+import com.assinaaqui.backend.entity.KeyAlgorithm;
 import com.assinaaqui.backend.entity.User;
+import com.assinaaqui.backend.event.UserKeysChangedEvent;
 import com.assinaaqui.backend.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
@@ -25,6 +35,30 @@ public class UserService implements UserDetailsService {
     @Autowired
     private CryptographyService cryptographyService;
 
+    @Autowired
+    private KeyPairPool keyPairPool;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${crypto.default-key-algorithm:RSA}")
+    private KeyAlgorithm defaultKeyAlgorithm;
+
+    @Value("${user-cache.max-size:10000}")
+    private int userCacheMaxSize;
+
+    @Value("${user-cache.ttl-seconds:60}")
+    private long userCacheTtlSeconds;
+
+    // Usuários autenticados por email. O cache é local a cada réplica: a invalidação só alcança
+    // este nó, e nos demais o tempo de vida curto limita por quanto tempo um dado antigo é usado
+    private LruCache<String, AuthenticatedUser> authenticatedUserCache;
+
+    @PostConstruct
+    public void init() {
+        authenticatedUserCache = new LruCache<>(userCacheMaxSize, Duration.ofSeconds(userCacheTtlSeconds));
+    }
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email)
@@ -38,12 +72,21 @@ public class UserService implements UserDetailsService {
     }
 
     public User createUser(String name, String email, String password) {
+        return createUser(name, email, password, null);
+    }
+
+    /**
+     * Cadastra um usuário com um par de chaves do algoritmo escolhido
+     * @param keyAlgorithm Algoritmo das chaves; null usa o padrão configurado
+     * @return Usuário persistido
+     */
+    public User createUser(String name, String email, String password, KeyAlgorithm keyAlgorithm) {
         if (userRepository.existsByEmail(email)) {
             throw new RuntimeException("Email já está em uso");
         }
 
-        // Gerar par de chaves RSA
-        Map<String, String> keyPair = cryptographyService.generateKeyPair();
+        KeyAlgorithm algorithm = keyAlgorithm != null ? keyAlgorithm : defaultKeyAlgorithm;
+        Map<String, String> keyPair = generateKeyPair(algorithm);
         
         // Criar usuário
         User user = new User();
@@ -52,8 +95,64 @@ public class UserService implements UserDetailsService {
         user.setPassword(passwordEncoder.encode(password));
         user.setPublicKey(keyPair.get("publicKey"));
         user.setPrivateKey(keyPair.get("privateKey"));
+        user.setKeyAlgorithm(algorithm);
+
+        User saved = userRepository.save(user);
+        // Um cadastro anterior com o mesmo email (removido depois) não pode continuar no cache
+        evictAuthenticatedUser(email);
+        return saved;
+    }
+
+    /**
+     * Substitui o par de chaves do usuário e avisa os caches que dependem da chave pública
+     * @param user Usuário cujas chaves serão trocadas
+     * @return Usuário atualizado
+     */
+    public User regenerateKeys(User user) {
+        Map<String, String> keyPair = generateKeyPair(user.getKeyAlgorithm());
+        user.setPublicKey(keyPair.get("publicKey"));
+        user.setPrivateKey(keyPair.get("privateKey"));
+
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserKeysChangedEvent(saved.getId()));
+        return saved;
+    }
+
+    /**
+     * Busca o usuário autenticado pelo email, consultando o banco só quando ele não estiver em cache
+     * @param email Email do usuário (subject do token)
+     * @return Usuário autenticado, ou vazio se não existir
+     */
+    public Optional<AuthenticatedUser> findAuthenticatedUser(String email) {
+        return Optional.ofNullable(authenticatedUserCache.get(email,
+            key -> userRepository.findByEmail(key).map(AuthenticatedUser::from).orElse(null)));
+    }
 
-        return userRepository.save(user);
+    /**
+     * Descarta o usuário do cache deste nó; deve ser chamado sempre que os dados dele mudarem
+     * @param email Email do usuário
+     */
+    public void evictAuthenticatedUser(String email) {
+        authenticatedUserCache.invalidate(email);
+    }
+
+    @EventListener
+    public void onUserKeysChanged(UserKeysChangedEvent event) {
+        authenticatedUserCache.invalidateIf(user -> user.getId().equals(event.userId()));
+    }
+
+    /**
+     * Estatísticas do cache de usuários autenticados
+     * @return Map com acertos, falhas, remoções, tamanho e taxa de acerto
+     */
+    public Map<String, Number> getUserCacheStatistics() {
+        Map<String, Number> stats = new HashMap<>();
+        stats.put("hits", authenticatedUserCache.hits());
+        stats.put("misses", authenticatedUserCache.misses());
+        stats.put("evictions", authenticatedUserCache.evictions());
+        stats.put("size", authenticatedUserCache.size());
+        stats.put("hitRatio", authenticatedUserCache.hitRatio());
+        return stats;
     }
 
     public Optional<User> findByEmail(String email) {
@@ -64,7 +163,16 @@ public class UserService implements UserDetailsService {
         return userRepository.findById(id);
     }
 
+    @Timed("auth.password.check")
     public boolean validatePassword(String rawPassword, String encodedPassword) {
         return passwordEncoder.matches(rawPassword, encodedPassword);
     }
-}
\ No newline at end of file
+
+    private Map<String, String> generateKeyPair(KeyAlgorithm algorithm) {
+        // Só RSA tem pool: a busca de primos é lenta, já as chaves de curva elíptica saem em microssegundos
+        if (algorithm == KeyAlgorithm.RSA) {
+            return keyPairPool.take();
+        }
+        return cryptographyService.generateKeyPair(algorithm);
+    }
+}
@@ -0,0 +1,290 @@
+package com.assinaaqui.backend.service;
+
+import com.assinaaqui.backend.entity.Signature;
+import com.assinaaqui.backend.repository.SignatureRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Contador de verificações por assinatura. Os incrementos são acumulados em memória e somados
+ * periodicamente à coluna verification_count, então o total da resposta é a coluna mais o que
+ * esta instância ainda não gravou, sem COUNT(*) sobre verification_logs.
+ * A coluna é lida no primário e guardada por pouco tempo (verification-counter.column-ttl-ms),
+ * então acessos repetidos à mesma assinatura não voltam ao banco. Cada leitura é comparada com a
+ * versão das gravações, e a gravação descarta os valores guardados das assinaturas que gravou,
+ * para que um incremento nunca seja contado duas vezes nem nenhuma vez enquanto passa da memória
+ * para o banco. Fica de fora o que outras réplicas ainda não gravaram: aparece depois da próxima
+ * gravação delas (verification-counter.flush-interval-ms) e de o valor guardado expirar.
+ */
+@Service
+public class VerificationCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerificationCounter.class);
+
+    @Autowired
+    private SignatureRepository signatureRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Releituras da coluna quando uma gravação cruza a consulta; depois disso o total pode
+    // divergir pelo incremento em gravação até a próxima consulta
+    private static final int MAX_READ_ATTEMPTS = 3;
+    private static final long FLUSH_WAIT_MS = 100;
+
+    @Value("${verification-counter.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${verification-counter.column-ttl-ms:1000}")
+    private long columnTtlMs;
+
+    @Value("${verification-counter.column-cache.max-size:10000}")
+    private int columnCacheMaxSize;
+
+    // Valores da coluna já lidos; null quando desligado (column-ttl-ms=0)
+    private LruCache<UUID, Long> persistedCounts;
+    private final AtomicLong columnHits = new AtomicLong();
+    private final AtomicLong columnMisses = new AtomicLong();
+
+    // Incrementos ainda não gravados e os que estão sendo gravados no momento
+    private final ConcurrentHashMap<UUID, Long> pending = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Long> flushing = new ConcurrentHashMap<>();
+
+    // Ímpar enquanto uma gravação move incrementos da memória para a coluna; quem lê compara a
+    // versão antes e depois para saber se nenhuma gravação começou ou terminou no meio da leitura
+    private final AtomicLong flushVersion = new AtomicLong();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        if (columnTtlMs > 0) {
+            persistedCounts = new LruCache<>(columnCacheMaxSize, Duration.ofMillis(columnTtlMs));
+        }
+        if (flushIntervalMs <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "verification-counter-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(flushIntervalMs + 5000, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Registra uma verificação da assinatura
+     * @param signatureId Id da assinatura verificada
+     */
+    public void record(UUID signatureId) {
+        pending.merge(signatureId, 1L, Long::sum);
+    }
+
+    /**
+     * Total de verificações conhecido por esta instância
+     * @param signature Assinatura verificada
+     * @return Valor gravado na coluna mais os incrementos locais ainda não gravados
+     */
+    public long current(Signature signature) {
+        return current(signature.getId());
+    }
+
+    /**
+     * Total de verificações conhecido por esta instância
+     * @param signatureId Id da assinatura
+     * @return Valor gravado na coluna mais os incrementos locais ainda não gravados
+     */
+    public long current(UUID signatureId) {
+        return current(List.of(signatureId)).getOrDefault(signatureId, 0L);
+    }
+
+    /**
+     * Totais de verificações de várias assinaturas, com no máximo uma leitura da coluna
+     * @param signatureIds Ids das assinaturas
+     * @return Map de id da assinatura para o total; assinaturas inexistentes contam só os incrementos locais
+     */
+    public Map<UUID, Long> current(Collection<UUID> signatureIds) {
+        Map<UUID, Long> totals = new HashMap<>();
+        if (signatureIds.isEmpty()) {
+            return totals;
+        }
+        for (int attempt = 1; ; attempt++) {
+            long version = flushVersion.get();
+            Map<UUID, Long> persisted = readPersisted(signatureIds);
+            totals.clear();
+            for (UUID id : signatureIds) {
+                totals.put(id, persisted.getOrDefault(id, 0L) + unflushed(id));
+            }
+            if ((version & 1) == 0 && flushVersion.get() == version) {
+                return totals;
+            }
+            if (attempt == MAX_READ_ATTEMPTS) {
+                // Gravações seguidas ou lentas: devolve a última leitura, que pode divergir pelo lote em gravação
+                return totals;
+            }
+            awaitFlush();
+        }
+    }
+
+    /**
+     * Registra uma verificação e retorna o total atualizado
+     * @param signature Assinatura verificada
+     * @return Total de verificações, incluindo esta
+     */
+    public long recordAndGet(Signature signature) {
+        record(signature.getId());
+        return current(signature);
+    }
+
+    /**
+     * Soma os incrementos acumulados às colunas das assinaturas, numa única transação
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+            // Ímpar antes de tirar os incrementos de "pending": quem lê no meio da troca relê
+            flushVersion.incrementAndGet();
+            try {
+                Map<UUID, Long> deltas = new HashMap<>();
+                for (UUID id : pending.keySet()) {
+                    // remove é atômico: incrementos posteriores criam uma nova entrada
+                    Long delta = pending.remove(id);
+                    if (delta != null) {
+                        deltas.put(id, delta);
+                        flushing.merge(id, delta, Long::sum);
+                    }
+                }
+                if (deltas.isEmpty()) {
+                    return;
+                }
+
+                try {
+                    write(deltas);
+                } finally {
+                    // Ainda com a versão ímpar: quem guardou a coluna antiga relê depois da gravação
+                    if (persistedCounts != null) {
+                        deltas.keySet().forEach(persistedCounts::invalidate);
+                    }
+                    deltas.forEach((id, delta) -> flushing.computeIfPresent(id, (key, value) -> value - delta == 0 ? null : value - delta));
+                }
+            } finally {
+                flushVersion.incrementAndGet();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public int getPendingSignatures() {
+        return pending.size();
+    }
+
+    /**
+     * Estatísticas dos valores guardados da coluna verification_count
+     * @return Map com acertos, falhas, remoções e tamanho
+     */
+    public Map<String, Long> getColumnCacheStatistics() {
+        Map<String, Long> stats = new HashMap<>();
+        stats.put("hits", columnHits.get());
+        stats.put("misses", columnMisses.get());
+        stats.put("evictions", persistedCounts != null ? persistedCounts.evictions() : 0L);
+        stats.put("size", persistedCounts != null ? (long) persistedCounts.size() : 0L);
+        return stats;
+    }
+
+    private long unflushed(UUID signatureId) {
+        return pending.getOrDefault(signatureId, 0L) + flushing.getOrDefault(signatureId, 0L);
+    }
+
+    private Map<UUID, Long> readPersisted(Collection<UUID> signatureIds) {
+        Map<UUID, Long> persisted = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : signatureIds) {
+            Long cached = persistedCounts != null ? persistedCounts.getIfPresent(id) : null;
+            if (cached != null) {
+                persisted.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        columnHits.addAndGet(persisted.size());
+        columnMisses.addAndGet(missing.size());
+        if (missing.isEmpty()) {
+            return persisted;
+        }
+
+        long generation = persistedCounts != null ? persistedCounts.generation() : 0;
+        for (Object[] row : signatureRepository.findVerificationCountsByIdIn(missing)) {
+            UUID id = (UUID) row[0];
+            long count = ((Number) row[1]).longValue();
+            persisted.put(id, count);
+            if (persistedCounts != null) {
+                // Não guarda se uma gravação descartou valores durante a leitura
+                persistedCounts.putIfGeneration(id, count, generation);
+            }
+        }
+        return persisted;
+    }
+
+    /**
+     * Espera a gravação em andamento terminar, sem ficar presa a um banco que não responde
+     */
+    private void awaitFlush() {
+        try {
+            if (flushLock.tryLock(FLUSH_WAIT_MS, TimeUnit.MILLISECONDS)) {
+                flushLock.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(Map<UUID, Long> deltas) {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                deltas.forEach(signatureRepository::incrementVerificationCount));
+        } catch (RuntimeException e) {
+            // Devolve os incrementos para a próxima tentativa antes de retirá-los de "flushing"
+            deltas.forEach((id, delta) -> pending.merge(id, delta, Long::sum));
+            logger.error("Erro ao gravar contadores de verificação de {} assinaturas", deltas.size(), e);
+        }
+    }
+}
@@ -3,10 +3,14 @@ package com.assinaaqui.backend.service;
 import com.assinaaqui.backend.entity.Signature;
 import com.assinaaqui.backend.entity.VerificationLog;
 import com.assinaaqui.backend.repository.VerificationLogRepository;
+import com.assinaaqui.backend.service.VerificationLogWriter.PendingVerification;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 @Service
 public class VerificationLogService {
@@ -14,14 +18,36 @@ public class VerificationLogService {
     @Autowired
     private VerificationLogRepository verificationLogRepository;
 
-    public VerificationLog logVerification(Signature signature, String ipAddress, String userAgent, boolean isValid) {
-        VerificationLog log = new VerificationLog();
-        log.setSignature(signature);
-        log.setIpAddress(ipAddress);
-        log.setUserAgent(userAgent);
-        log.setIsValid(isValid);
-        
-        return verificationLogRepository.save(log);
+    @Autowired
+    private VerificationLogWriter verificationLogWriter;
+
+    /**
+     * Registra uma verificação; a gravação é feita em lote pelo VerificationLogWriter
+     */
+    public void logVerification(Signature signature, String ipAddress, String userAgent, boolean isValid) {
+        logVerification(signature.getId(), ipAddress, userAgent, isValid);
+    }
+
+    /**
+     * Registra uma verificação a partir do id, para quem não carregou a assinatura
+     */
+    public void logVerification(UUID signatureId, String ipAddress, String userAgent, boolean isValid) {
+        verificationLogWriter.submit(signatureId, ipAddress, userAgent, isValid);
+    }
+
+    /**
+     * Registra vários logs de verificação de uma vez
+     * @param logs Logs a gravar
+     */
+    public void logVerifications(List<VerificationLog> logs) {
+        verificationLogWriter.submitAll(logs.stream()
+            .map(log -> new PendingVerification(
+                log.getSignature().getId(),
+                log.getIpAddress(),
+                log.getUserAgent(),
+                log.getIsValid(),
+                LocalDateTime.now()))
+            .toList());
     }
 
     public List<VerificationLog> findBySignature(Signature signature) {
@@ -32,7 +58,12 @@ public class VerificationLogService {
         return verificationLogRepository.findBySignatureOrderByVerifiedAtDesc(signature);
     }
 
+    /**
+     * Conta as verificações de uma assinatura, incluindo as que ainda aguardam gravação
+     */
     public long countBySignature(Signature signature) {
-        return verificationLogRepository.countBySignature(signature);
+        long pending = verificationLogWriter.pendingCounts(Set.of(signature.getId()))
+            .getOrDefault(signature.getId(), 0L);
+        return verificationLogRepository.countBySignature(signature) + pending;
     }
 }
\ No newline at end of file
@@ -0,0 +1,309 @@
+package com.assinaaqui.backend.service;
+
+import com.assinaaqui.backend.entity.VerificationLog;
+import com.assinaaqui.backend.repository.SignatureRepository;
+import com.assinaaqui.backend.repository.VerificationLogRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Grava os logs de verificação fora da thread da requisição: os registros entram numa fila
+ * limitada e uma thread de fundo os insere em lotes, por tamanho ou por intervalo de tempo.
+ * Com a fila cheia o registro espera um pouco e, se ainda não houver espaço, é descartado.
+ */
+@Service
+public class VerificationLogWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerificationLogWriter.class);
+
+    @Autowired
+    private VerificationLogRepository verificationLogRepository;
+
+    @Autowired
+    private SignatureRepository signatureRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${verification-log.async.enabled:true}")
+    private boolean asyncEnabled;
+
+    @Value("${verification-log.async.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${verification-log.async.batch-size:200}")
+    private int batchSize;
+
+    @Value("${verification-log.async.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${verification-log.async.offer-timeout-ms:5}")
+    private long offerTimeoutMs;
+
+    private BlockingQueue<PendingVerification> queue;
+    private volatile List<PendingVerification> inFlight = List.of();
+    private volatile boolean running;
+    private Thread flusher;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        if (!asyncEnabled) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::runFlusher, "verification-log-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Para a thread de fundo e grava o que ainda estiver na fila
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            try {
+                // Sem interrupt: interromper uma escrita JDBC em andamento pode fechar a conexão
+                flusher.join(flushIntervalMs * 10 + 5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushAll();
+    }
+
+    /**
+     * Registra uma verificação para gravação posterior
+     * @param signatureId Id da assinatura verificada
+     * @param ipAddress IP do cliente
+     * @param userAgent User-Agent do cliente
+     * @param isValid Resultado da verificação
+     */
+    public void submit(UUID signatureId, String ipAddress, String userAgent, boolean isValid) {
+        submitAll(List.of(new PendingVerification(signatureId, ipAddress, userAgent, isValid, LocalDateTime.now())));
+    }
+
+    /**
+     * Registra várias verificações; no modo síncrono elas são gravadas numa única transação
+     * @param verifications Verificações a registrar
+     */
+    public void submitAll(List<PendingVerification> verifications) {
+        if (!asyncEnabled) {
+            write(verifications);
+            return;
+        }
+
+        for (PendingVerification verification : verifications) {
+            boolean accepted;
+            try {
+                accepted = queue.offer(verification, offerTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                accepted = false;
+            }
+
+            if (accepted) {
+                enqueued.incrementAndGet();
+            } else {
+                dropped.incrementAndGet();
+                logger.warn("Fila de logs de verificação cheia, registro descartado para a assinatura {}",
+                        verification.signatureId());
+            }
+        }
+    }
+
+    /**
+     * Quantas verificações ainda não gravadas existem para cada uma das assinaturas informadas
+     * @param signatureIds Ids das assinaturas
+     * @return Map de id da assinatura para verificações pendentes
+     */
+    public Map<UUID, Long> pendingCounts(Collection<UUID> signatureIds) {
+        Map<UUID, Long> counts = new HashMap<>();
+        if (!asyncEnabled || signatureIds.isEmpty()) {
+            return counts;
+        }
+        countPending(queue, signatureIds, counts);
+        countPending(inFlight, signatureIds, counts);
+        return counts;
+    }
+
+    public long getEnqueued() {
+        return enqueued.get();
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void runFlusher() {
+        while (running) {
+            try {
+                PendingVerification first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                List<PendingVerification> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                // Aguarda completar o lote até o fim do intervalo, sem passar do tamanho máximo
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingVerification next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Erro inesperado no gravador de logs de verificação", e);
+            }
+        }
+    }
+
+    private void flushAll() {
+        List<PendingVerification> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            write(remaining.subList(from, Math.min(from + batchSize, remaining.size())));
+        }
+    }
+
+    private void write(List<PendingVerification> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        inFlight = batch;
+        try {
+            insert(batch);
+            written.addAndGet(batch.size());
+        } catch (RuntimeException e) {
+            if (!asyncEnabled) {
+                // No modo síncrono a gravação participa da transação de quem chamou, que já foi
+                // marcada para rollback: não há como isolar as linhas boas
+                failed.addAndGet(batch.size());
+                throw e;
+            }
+            if (batch.size() == 1) {
+                failed.incrementAndGet();
+                logger.error("Erro ao gravar log de verificação da assinatura {}", batch.get(0).signatureId(), e);
+                return;
+            }
+            logger.warn("Erro ao gravar lote de {} logs de verificação, gravando um a um: {}", batch.size(), e.getMessage());
+            writeEach(batch);
+        } finally {
+            inFlight = List.of();
+        }
+    }
+
+    /**
+     * Grava cada registro na sua própria transação, para que um registro inválido não descarte
+     * os demais do lote
+     */
+    private void writeEach(List<PendingVerification> batch) {
+        for (PendingVerification verification : batch) {
+            try {
+                insert(List.of(verification));
+                written.incrementAndGet();
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                logger.error("Erro ao gravar log de verificação da assinatura {}", verification.signatureId(), e);
+            }
+        }
+    }
+
+    private void insert(List<PendingVerification> verifications) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<VerificationLog> logs = new ArrayList<>(verifications.size());
+            for (PendingVerification verification : verifications) {
+                VerificationLog log = new VerificationLog(
+                        signatureRepository.getReferenceById(verification.signatureId()),
+                        verification.ipAddress(),
+                        verification.isValid(),
+                        verification.userAgent());
+                log.setVerifiedAt(verification.verifiedAt());
+                logs.add(log);
+            }
+            verificationLogRepository.saveAll(logs);
+        });
+    }
+
+    private static void countPending(Collection<PendingVerification> pending, Collection<UUID> signatureIds,
+                                     Map<UUID, Long> counts) {
+        for (PendingVerification verification : pending) {
+            if (signatureIds.contains(verification.signatureId())) {
+                counts.merge(verification.signatureId(), 1L, Long::sum);
+            }
+        }
+    }
+
+    /**
+     * Verificação aguardando gravação; guarda só o id da assinatura para não reter a entidade.
+     * IP e User-Agent vêm do cliente e são cortados no tamanho das colunas, senão um único valor
+     * longo faria o lote inteiro falhar.
+     */
+    public record PendingVerification(UUID signatureId, String ipAddress, String userAgent,
+                                      boolean isValid, LocalDateTime verifiedAt) {
+
+        public PendingVerification {
+            ipAddress = truncate(ipAddress, VerificationLog.IP_ADDRESS_MAX_LENGTH);
+            userAgent = truncate(userAgent, VerificationLog.USER_AGENT_MAX_LENGTH);
+        }
+
+        private static String truncate(String value, int maxLength) {
+            if (value == null || value.length() <= maxLength) {
+                return value;
+            }
+            // Não separa um par substituto no corte
+            int end = Character.isHighSurrogate(value.charAt(maxLength - 1)) ? maxLength - 1 : maxLength;
+            return value.substring(0, end);
+        }
+    }
+}
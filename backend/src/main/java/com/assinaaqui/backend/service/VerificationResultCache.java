@@ -0,0 +1,106 @@
+package com.assinaaqui.backend.service;
+
+import com.assinaaqui.backend.entity.Signature;
+import com.assinaaqui.backend.event.UserKeysChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Cache dos resultados de verificação por id de assinatura. Assinaturas não mudam depois de
+ * gravadas, então o resultado só depende da chave pública do signatário: a entrada é descartada
+ * quando as chaves do usuário são trocadas nesta instância ou quando o tempo de vida expira.
+ * A chave não inclui a impressão digital da chave pública porque ela só é conhecida depois de
+ * carregar o signatário, que é o que o cache evita; numa réplica que não recebeu o evento de
+ * troca, o resultado antigo vale até o tempo de vida (verification-cache.ttl-seconds).
+ * O total de verificações muda a cada acesso e não fica no cache; vem do VerificationCounter.
+ */
+@Service
+public class VerificationResultCache {
+
+    @Autowired
+    private SignatureService signatureService;
+
+    @Autowired
+    private VerificationCounter verificationCounter;
+
+    private final LruCache<UUID, VerificationSnapshot> cache;
+
+    @Autowired
+    public VerificationResultCache(
+            @Value("${verification-cache.max-size:1000}") int maxSize,
+            @Value("${verification-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = new LruCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    /**
+     * Verifica a assinatura, carregando-a e executando a operação RSA só quando não houver
+     * resultado em cache
+     * @param signatureId Id da assinatura
+     * @return Resultado da verificação, ou vazio se a assinatura não existir
+     */
+    public Optional<VerificationSnapshot> verify(UUID signatureId) {
+        return Optional.ofNullable(cache.get(signatureId, this::load));
+    }
+
+    /**
+     * Total de verificações da assinatura do resultado em cache
+     * @param snapshot Resultado obtido por {@link #verify(UUID)}
+     * @return Valor da coluna (lido no primário e reaproveitado por alguns instantes) mais os
+     * incrementos locais ainda não gravados
+     */
+    public long currentCount(VerificationSnapshot snapshot) {
+        return verificationCounter.current(snapshot.signatureId());
+    }
+
+    @EventListener
+    public void onUserKeysChanged(UserKeysChangedEvent event) {
+        cache.invalidateIf(snapshot -> snapshot.userId().equals(event.userId()));
+    }
+
+    /**
+     * Estatísticas do cache de resultados
+     * @return Map com acertos, falhas, remoções e tamanho
+     */
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> stats = new HashMap<>();
+        stats.put("hits", cache.hits());
+        stats.put("misses", cache.misses());
+        stats.put("evictions", cache.evictions());
+        stats.put("size", (long) cache.size());
+        return stats;
+    }
+
+    private VerificationSnapshot load(UUID signatureId) {
+        return signatureService.findById(signatureId)
+            .map(signature -> {
+                boolean isValid = signatureService.verifySignature(signature);
+                return new VerificationSnapshot(
+                    signature.getId(),
+                    isValid,
+                    signature.getUser().getId(),
+                    signature.getUser().getName(),
+                    signature.getAlgorithm(),
+                    signature.getCreatedAt(),
+                    signature.getOriginalText());
+            })
+            .orElse(null);
+    }
+
+    /**
+     * Resultado de uma verificação com os dados exibidos na resposta; só dados imutáveis
+     * @param userId Signatário, para descartar a entrada quando as chaves dele mudarem
+     */
+    public record VerificationSnapshot(UUID signatureId, boolean isValid, Long userId,
+                                       String signatory, String algorithm, LocalDateTime signedAt,
+                                       String originalText) {
+    }
+}
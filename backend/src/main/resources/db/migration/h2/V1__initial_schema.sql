@@ -0,0 +1,47 @@
+-- Esquema inicial para os perfis com banco persistente (h2file)
+
+CREATE TABLE users (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name          VARCHAR(100) NOT NULL,
+    email         VARCHAR(150) NOT NULL,
+    password      VARCHAR(255) NOT NULL,
+    public_key    TEXT         NOT NULL,
+    private_key   TEXT         NOT NULL,
+    key_algorithm VARCHAR(20)  NOT NULL DEFAULT 'RSA',
+    created_at    TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE signatures (
+    id                 BINARY(16)    PRIMARY KEY,
+    user_id            BIGINT        NOT NULL,
+    original_text      TEXT,
+    document_content   BLOB,
+    content_length     BIGINT,
+    content_type       VARCHAR(100),
+    text_hash          VARCHAR(64)   NOT NULL,
+    signature          VARCHAR(1024) NOT NULL,
+    signature_digest   VARCHAR(64)   NOT NULL,
+    algorithm          VARCHAR(50)   NOT NULL,
+    created_at         TIMESTAMP(6)  NOT NULL,
+    verification_count BIGINT        NOT NULL DEFAULT 0,
+    CONSTRAINT fk_signatures_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_signatures_text_hash_digest ON signatures (text_hash, signature_digest);
+CREATE INDEX idx_signatures_user_created ON signatures (user_id, created_at, id);
+
+CREATE TABLE verification_logs (
+    id           BIGINT       PRIMARY KEY,
+    signature_id BINARY(16)   NOT NULL,
+    verified_at  TIMESTAMP(6) NOT NULL,
+    ip_address   VARCHAR(45),
+    is_valid     BOOLEAN      NOT NULL,
+    user_agent   VARCHAR(500),
+    CONSTRAINT fk_verification_logs_signature FOREIGN KEY (signature_id) REFERENCES signatures (id)
+);
+
+CREATE INDEX idx_verification_logs_signature ON verification_logs (signature_id, verified_at);
+
+-- Incremento igual ao allocationSize de VerificationLog (otimizador pooled)
+CREATE SEQUENCE verification_logs_seq START WITH 1 INCREMENT BY 50;
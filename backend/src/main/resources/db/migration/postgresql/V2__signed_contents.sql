@@ -0,0 +1,31 @@
+-- Textos assinados guardados uma vez por hash SHA-256 (endereçamento por conteúdo); as assinaturas
+-- passam a referenciar o texto em vez de repetir original_text em cada linha
+
+CREATE TABLE signed_contents (
+    content_hash VARCHAR(64)  PRIMARY KEY,
+    text         TEXT         NOT NULL,
+    ref_count    BIGINT       NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL
+);
+
+-- Um conteúdo por texto distinto já assinado, com o total de assinaturas que o usam
+INSERT INTO signed_contents (content_hash, text, ref_count, created_at)
+SELECT text_hash, original_text, refs, created_at
+FROM (
+    SELECT text_hash, original_text, created_at,
+           COUNT(*) OVER (PARTITION BY text_hash) AS refs,
+           ROW_NUMBER() OVER (PARTITION BY text_hash ORDER BY created_at) AS rn
+    FROM signatures
+    WHERE original_text IS NOT NULL
+) first_signatures
+WHERE rn = 1;
+
+-- Nulo para documentos enviados por streaming, que ficam em document_content
+ALTER TABLE signatures ADD COLUMN content_hash VARCHAR(64);
+
+UPDATE signatures SET content_hash = text_hash WHERE original_text IS NOT NULL;
+
+ALTER TABLE signatures ADD CONSTRAINT fk_signatures_content
+    FOREIGN KEY (content_hash) REFERENCES signed_contents (content_hash);
+
+ALTER TABLE signatures DROP COLUMN original_text;
@@ -2,29 +2,43 @@ package com.assinaaqui.backend;
 
 import com.assinaaqui.backend.dto.RegisterRequest;
 import com.assinaaqui.backend.dto.SignRequest;
+import com.assinaaqui.backend.entity.KeyAlgorithm;
 import com.assinaaqui.backend.entity.Signature;
 import com.assinaaqui.backend.entity.User;
+import com.assinaaqui.backend.entity.VerificationLog;
 import com.assinaaqui.backend.repository.SignatureRepository;
+import com.assinaaqui.backend.repository.SignedContentRepository;
 import com.assinaaqui.backend.repository.UserRepository;
+import com.assinaaqui.backend.repository.VerificationLogRepository;
 import com.assinaaqui.backend.service.CryptographyService;
+import com.assinaaqui.backend.service.SignedContentService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -51,14 +65,31 @@ class DigitalSignatureIntegrationTest {
     @Autowired
     private SignatureRepository signatureRepository;
 
+    @Autowired
+    private VerificationLogRepository verificationLogRepository;
+
+    @Autowired
+    private SignedContentRepository signedContentRepository;
+
+    @Autowired
+    private SignedContentService signedContentService;
+
     @Autowired
     private CryptographyService cryptographyService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private String authToken;
 
     @BeforeEach
     void setUp() throws Exception {
-        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+            .apply(SecurityMockMvcConfigurers.springSecurity())
+            .build();
         signatureRepository.deleteAll();
         userRepository.deleteAll();
         
@@ -229,4 +260,315 @@ class DigitalSignatureIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.verificationCount").value(3));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testOversizedClientHeadersDoNotDropVerificationLogs() throws Exception {
+        SignRequest signRequest = new SignRequest();
+        signRequest.setText("Documento para teste de cabeçalhos longos");
+
+        MvcResult signResult = mockMvc.perform(post("/signatures/sign")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        UUID signatureId = UUID.fromString(objectMapper.readTree(signResult.getResponse().getContentAsString())
+                .get("signatureId").asText());
+
+        mockMvc.perform(get("/verify/" + signatureId).header("User-Agent", "JUnit"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/verify/" + signatureId)
+                .header("User-Agent", "X".repeat(2000))
+                .header("X-Forwarded-For", "9".repeat(200) + ", 10.0.0.1"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/verify/" + signatureId).header("User-Agent", "JUnit"))
+                .andExpect(status().isOk());
+
+        Signature signature = signatureRepository.findById(signatureId).orElseThrow();
+        List<VerificationLog> logs = verificationLogRepository.findBySignature(signature);
+        assertEquals(3, logs.size());
+        assertEquals(2, logs.stream().filter(log -> "JUnit".equals(log.getUserAgent())).count());
+        assertTrue(logs.stream().allMatch(log -> log.getUserAgent().length() <= VerificationLog.USER_AGENT_MAX_LENGTH));
+        assertTrue(logs.stream().allMatch(log -> log.getIpAddress().length() <= VerificationLog.IP_ADDRESS_MAX_LENGTH));
+    }
+
+    @Test
+    void testStreamingDocumentSignature() throws Exception {
+        String documentText = "Contrato extenso enviado por streaming. ".repeat(1000);
+        byte[] documentBytes = documentText.getBytes(StandardCharsets.UTF_8);
+
+        MvcResult signResult = mockMvc.perform(post("/signatures/sign/stream")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(documentBytes))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.signatureId").exists())
+                .andExpect(jsonPath("$.hash").value(cryptographyService.calculateSHA256Hash(documentText)))
+                .andReturn();
+
+        JsonNode signJson = objectMapper.readTree(signResult.getResponse().getContentAsString());
+        UUID signatureId = UUID.fromString(signJson.get("signatureId").asText());
+        String signature = signJson.get("signature").asText();
+
+        mockMvc.perform(get("/verify/" + signatureId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(true));
+
+        Map<String, String> verifyRequest = new HashMap<>();
+        verifyRequest.put("text", documentText);
+        verifyRequest.put("signature", signature);
+
+        mockMvc.perform(post("/verify/text")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(verifyRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(true));
+
+        Signature savedSignature = signatureRepository.findById(signatureId).orElseThrow();
+        assertEquals((long) documentBytes.length, savedSignature.getContentLength());
+        assertNull(savedSignature.getOriginalText());
+    }
+
+    @Test
+    void testBatchSignature() throws Exception {
+        Map<String, Object> batchRequest = new HashMap<>();
+        batchRequest.put("texts", List.of("Recibo 1", "Recibo 2", "Recibo 3"));
+
+        MvcResult batchResult = mockMvc.perform(post("/signatures/sign/batch")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].hash").value(cryptographyService.calculateSHA256Hash("Recibo 1")))
+                .andExpect(jsonPath("$[2].hash").value(cryptographyService.calculateSHA256Hash("Recibo 3")))
+                .andReturn();
+
+        JsonNode batchJson = objectMapper.readTree(batchResult.getResponse().getContentAsString());
+        for (JsonNode item : batchJson) {
+            mockMvc.perform(get("/verify/" + item.get("signatureId").asText()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.valid").value(true));
+        }
+    }
+
+    @Test
+    void testRepeatedTextIsStoredOnce() throws Exception {
+        String terms = "Termos de uso do serviço, versão 3";
+        String hash = cryptographyService.calculateSHA256Hash(terms);
+
+        SignRequest signRequest = new SignRequest();
+        signRequest.setText(terms);
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/signatures/sign")
+                    .header("Authorization", "Bearer " + authToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(signRequest)))
+                    .andExpect(status().isCreated());
+        }
+
+        Map<String, Object> batchRequest = new HashMap<>();
+        batchRequest.put("texts", List.of(terms, "Outro documento", terms));
+        mockMvc.perform(post("/signatures/sign/batch")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isCreated());
+
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM signed_contents WHERE content_hash = ?", Integer.class, hash));
+        assertEquals(4L, jdbcTemplate.queryForObject(
+                "SELECT ref_count FROM signed_contents WHERE content_hash = ?", Long.class, hash));
+
+        List<Signature> signatures = signatureRepository.findAll().stream()
+                .filter(sig -> hash.equals(sig.getTextHash()))
+                .toList();
+        assertEquals(4, signatures.size());
+        signatures.forEach(sig -> assertEquals(terms, sig.getOriginalText()));
+
+        mockMvc.perform(get("/verify/" + signatures.get(0).getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(true))
+                .andExpect(jsonPath("$.originalText").value(terms));
+    }
+
+    @Test
+    void testUnreferencedContentIsSweptAndReinsertedOnDemand() throws Exception {
+        String orphanText = "Texto de uma assinatura que falhou";
+        String orphanHash = cryptographyService.calculateSHA256Hash(orphanText);
+        signedContentService.storeMissing(Map.of(orphanHash, orphanText));
+
+        SignRequest signRequest = new SignRequest();
+        signRequest.setText("Texto com assinatura gravada");
+        mockMvc.perform(post("/signatures/sign")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signRequest)))
+                .andExpect(status().isCreated());
+        String referencedHash = cryptographyService.calculateSHA256Hash(signRequest.getText());
+
+        // Dentro do prazo nada é removido
+        assertEquals(0, signedContentService.deleteUnreferenced(Duration.ofMinutes(60)));
+
+        Thread.sleep(20);
+        assertEquals(1, signedContentService.deleteUnreferenced(Duration.ofMillis(10)));
+        assertFalse(signedContentRepository.existsById(orphanHash));
+        assertTrue(signedContentRepository.existsById(referencedHash));
+
+        // Removido entre storeMissing e a transação da assinatura: a referência grava o texto de novo
+        signedContentService.addReferences(Map.of(orphanHash, 1L), Map.of(orphanHash, orphanText));
+        assertEquals(1L, jdbcTemplate.queryForObject(
+                "SELECT ref_count FROM signed_contents WHERE content_hash = ?", Long.class, orphanHash));
+    }
+
+    @Test
+    void testBatchVerification() throws Exception {
+        SignRequest signRequest = new SignRequest();
+        signRequest.setText("Documento para auditoria em lote");
+
+        MvcResult signResult = mockMvc.perform(post("/signatures/sign")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        JsonNode signJson = objectMapper.readTree(signResult.getResponse().getContentAsString());
+        String signatureId = signJson.get("signatureId").asText();
+        String signature = signJson.get("signature").asText();
+        UUID unknownId = UUID.randomUUID();
+
+        Map<String, Object> batchRequest = new HashMap<>();
+        batchRequest.put("ids", List.of(signatureId, unknownId.toString()));
+        batchRequest.put("items", List.of(Map.of("text", "Documento para auditoria em lote", "signature", signature)));
+
+        mockMvc.perform(post("/verify/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].signatureId").value(signatureId))
+                .andExpect(jsonPath("$[0].valid").value(true))
+                .andExpect(jsonPath("$[0].verificationCount").value(2))
+                .andExpect(jsonPath("$[1].signatureId").value(unknownId.toString()))
+                .andExpect(jsonPath("$[1].status").value("NOT_FOUND"))
+                .andExpect(jsonPath("$[2].signatureId").value(signatureId))
+                .andExpect(jsonPath("$[2].status").value("VALID"));
+    }
+
+    @Test
+    void testEd25519SignatureFlow() throws Exception {
+        RegisterRequest registerRequest = new RegisterRequest();
+        registerRequest.setName("Ed User");
+        registerRequest.setEmail("ed@example.com");
+        registerRequest.setPassword("password123");
+        registerRequest.setKeyAlgorithm(KeyAlgorithm.ED25519);
+
+        MvcResult registerResult = mockMvc.perform(post("/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        String edToken = objectMapper.readTree(registerResult.getResponse().getContentAsString()).get("token").asText();
+
+        String documentText = "Documento assinado com Ed25519";
+        SignRequest signRequest = new SignRequest();
+        signRequest.setText(documentText);
+
+        MvcResult signResult = mockMvc.perform(post("/signatures/sign")
+                .header("Authorization", "Bearer " + edToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.algorithm").value("Ed25519"))
+                .andReturn();
+
+        JsonNode signJson = objectMapper.readTree(signResult.getResponse().getContentAsString());
+        String signatureId = signJson.get("signatureId").asText();
+
+        mockMvc.perform(get("/verify/" + signatureId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(true))
+                .andExpect(jsonPath("$.signatory").value("Ed User"))
+                .andExpect(jsonPath("$.algorithm").value("Ed25519"));
+
+        Map<String, String> verifyRequest = new HashMap<>();
+        verifyRequest.put("text", documentText);
+        verifyRequest.put("signature", signJson.get("signature").asText());
+
+        mockMvc.perform(post("/verify/text")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(verifyRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(true));
+    }
+
+    @Test
+    void testMySignaturesKeysetPagination() throws Exception {
+        Map<String, Object> batchRequest = new HashMap<>();
+        batchRequest.put("texts", List.of("Página 1", "Página 2", "Página 3"));
+        mockMvc.perform(post("/signatures/sign/batch")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isCreated());
+
+        MvcResult firstPage = mockMvc.perform(get("/signatures/my-signatures")
+                .param("limit", "2")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn();
+
+        MvcResult secondPage = mockMvc.perform(get("/signatures/my-signatures")
+                .param("limit", "2")
+                .param("cursor", firstPage.getResponse().getHeader("X-Next-Cursor"))
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andReturn();
+
+        Set<String> ids = new HashSet<>();
+        for (MvcResult page : List.of(firstPage, secondPage)) {
+            for (JsonNode item : objectMapper.readTree(page.getResponse().getContentAsString())) {
+                ids.add(item.get("signatureId").asText());
+            }
+        }
+        assertEquals(3, ids.size());
+    }
+
+    @Test
+    void testSigningStagesAreTimedPerEndpoint() throws Exception {
+        SignRequest signRequest = new SignRequest();
+        signRequest.setText("Documento medido");
+
+        mockMvc.perform(post("/signatures/sign")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signRequest)))
+                .andExpect(status().isCreated());
+
+        Timer sign = meterRegistry.find("crypto.sign").tag("endpoint", "/signatures/sign").tag("exception", "none").timer();
+        assertNotNull(sign, "Assinatura deve ser medida com a rota de origem");
+        assertTrue(sign.count() >= 1);
+
+        Timer jwt = meterRegistry.find("jwt.parse").timer();
+        assertNotNull(jwt);
+        assertTrue(jwt.count() >= 1);
+
+        assertNotNull(meterRegistry.find("spring.data.repository.invocations")
+                .tag("repository", "SignatureRepository").tag("endpoint", "/signatures/sign").timer());
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", "authenticated-user").functionCounter());
+    }
+
+    @Test
+    void testReadinessHealth() throws Exception {
+        mockMvc.perform(get("/info/health"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"))
+                .andExpect(jsonPath("$.details.warm").value(true))
+                .andExpect(jsonPath("$.details.maxInFlight").exists());
+    }
+}
@@ -0,0 +1,66 @@
+package com.assinaaqui.backend;
+
+import com.assinaaqui.backend.config.AuthenticatedUser;
+import com.assinaaqui.backend.dto.SignResponse;
+import com.assinaaqui.backend.entity.KeyAlgorithm;
+import com.assinaaqui.backend.entity.Signature;
+import com.assinaaqui.backend.repository.VerificationLogRepository;
+import com.assinaaqui.backend.service.SignatureService;
+import com.assinaaqui.backend.service.UserService;
+import com.assinaaqui.backend.service.VerificationLogWriter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Roda o fluxo principal sobre o esquema criado pelas migrações do Flyway (db/migration/h2),
+ * em vez do esquema gerado pelo Hibernate, para que as migrações acompanhem as entidades
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:flyway_test;DB_CLOSE_DELAY=-1",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.flyway.enabled=true",
+    "spring.flyway.locations=classpath:db/migration/{vendor}"
+})
+@Transactional
+@ActiveProfiles("test")
+class FlywaySchemaIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private SignatureService signatureService;
+
+    @Autowired
+    private VerificationLogWriter verificationLogWriter;
+
+    @Autowired
+    private VerificationLogRepository verificationLogRepository;
+
+    @Test
+    void testSignVerifyAndListOnMigratedSchema() {
+        AuthenticatedUser user = AuthenticatedUser.from(
+                userService.createUser("Flyway User", "flyway@example.com", "password123", KeyAlgorithm.EC_P256));
+
+        Signature signature = signatureService.signText(user, "Documento no esquema migrado");
+        signatureService.signTexts(user, List.of("Lote 1", "Lote 2"));
+
+        assertTrue(signatureService.verifySignature(signature));
+        assertEquals(signature.getId(), signatureService
+                .findByHashAndSignature(signature.getTextHash(), signature.getSignature())
+                .orElseThrow().getId());
+
+        List<SignResponse> page = signatureService.findSignaturePage(user.getId(), null, 10);
+        assertEquals(3, page.size());
+
+        verificationLogWriter.submit(signature.getId(), "127.0.0.1", "junit", true);
+        assertEquals(1, verificationLogRepository.countBySignature(signature));
+    }
+}
@@ -0,0 +1,100 @@
+package com.assinaaqui.backend.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    private final List<ReadReplicaRoutingDataSource> routings = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        routings.forEach(ReadReplicaRoutingDataSource::close);
+    }
+
+    @Test
+    void testWritesGoToPrimaryAndReadsRotateOverReplicas() {
+        ReadReplicaRoutingDataSource routing = routing("", "jdbc:h2:mem:replica_a", "jdbc:h2:mem:replica_b");
+        routing.check();
+        assertEquals(List.of("replica-1", "replica-2"), routing.getAvailableReplicas());
+
+        assertEquals("primary", routing.determineCurrentLookupKey());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals("replica-1", routing.determineCurrentLookupKey());
+        assertEquals("replica-2", routing.determineCurrentLookupKey());
+        assertEquals("replica-1", routing.determineCurrentLookupKey());
+
+        assertEquals(1, routing.getPrimaryRoutes());
+        assertEquals(3, routing.getReplicaRoutes());
+        assertEquals(0, routing.getFallbackRoutes());
+    }
+
+    @Test
+    void testReadsStayOnPrimaryUntilFirstCheck() {
+        ReadReplicaRoutingDataSource routing = routing("", "jdbc:h2:mem:replica_unchecked");
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals("primary", routing.determineCurrentLookupKey());
+        assertEquals(1, routing.getFallbackRoutes());
+    }
+
+    @Test
+    void testLaggingReplicaLeavesRotation() {
+        ReadReplicaRoutingDataSource routing = routing("SELECT 5000", "jdbc:h2:mem:replica_lagging");
+        routing.check();
+
+        assertTrue(routing.getAvailableReplicas().isEmpty());
+        assertEquals(5000L, routing.getReplicaLag().get("replica-1"));
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals("primary", routing.determineCurrentLookupKey());
+        assertEquals(1, routing.getFallbackRoutes());
+    }
+
+    @Test
+    void testUnreachableReplicaLeavesRotation() {
+        ReadReplicaRoutingDataSource routing = routing("", "jdbc:h2:mem:replica_up", "jdbc:h2:mem:replica_missing;IFEXISTS=TRUE");
+        routing.check();
+
+        assertEquals(List.of("replica-1"), routing.getAvailableReplicas());
+        assertEquals(-1L, routing.getReplicaLag().get("replica-2"));
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals("replica-1", routing.determineCurrentLookupKey());
+        assertEquals("replica-1", routing.determineCurrentLookupKey());
+    }
+
+    private ReadReplicaRoutingDataSource routing(String lagQuery, String... replicaUrls) {
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.length; i++) {
+            replicas.put("replica-" + (i + 1), pool(replicaUrls[i]));
+        }
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(
+                pool("jdbc:h2:mem:routing_primary"), replicas, lagQuery, 1000, 0);
+        routing.afterPropertiesSet();
+        routings.add(routing);
+        return routing;
+    }
+
+    private static HikariDataSource pool(String url) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setConnectionTimeout(250);
+        config.setInitializationFailTimeout(-1);
+        return new HikariDataSource(config);
+    }
+}
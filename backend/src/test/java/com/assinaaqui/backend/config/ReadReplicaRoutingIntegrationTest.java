@@ -0,0 +1,64 @@
+package com.assinaaqui.backend.config;
+
+import com.assinaaqui.backend.entity.Signature;
+import com.assinaaqui.backend.service.SignatureService;
+import com.assinaaqui.backend.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Primário e réplica em duas instâncias H2 independentes: o que é gravado no primário nunca
+ * chega à réplica, então o resultado de cada leitura mostra para onde ela foi enviada.
+ * Sem @Transactional: uma transação do teste envolveria as leituras e as manteria no primário.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:routing_primary_it;DB_CLOSE_DELAY=-1",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.jpa.open-in-view=false",
+    "spring.flyway.enabled=true",
+    "spring.flyway.locations=classpath:db/migration/{vendor}",
+    "datasource.replica.urls=jdbc:h2:mem:routing_replica_it;DB_CLOSE_DELAY=-1",
+    "datasource.replica.migrate=true",
+    "datasource.replica.check-interval-ms=0"
+})
+@ActiveProfiles("test")
+class ReadReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private SignatureService signatureService;
+
+    @Autowired
+    private ReadReplicaRoutingDataSource routing;
+
+    @Test
+    void testReadsGoToReplicaAndMissesFallBackToPrimary() {
+        routing.check();
+        assertEquals(List.of("replica-1"), routing.getAvailableReplicas());
+
+        AuthenticatedUser user = AuthenticatedUser.from(
+                userService.createUser("Routing User", "routing@example.com", "password123"));
+        Signature signature = signatureService.signText(user, "Documento lido pela réplica");
+
+        // A listagem vai à réplica, que não recebe o que foi gravado no primário
+        long replicaRoutes = routing.getReplicaRoutes();
+        assertTrue(signatureService.findSignaturePage(user.getId(), null, 10).isEmpty());
+        assertTrue(routing.getReplicaRoutes() > replicaRoutes);
+
+        // A busca por id não encontra a assinatura na réplica e é repetida no primário
+        Signature found = signatureService.findById(signature.getId()).orElseThrow();
+        assertEquals("Routing User", found.getUser().getName());
+        assertTrue(signatureService.verifySignature(found));
+
+        // O login consulta o primário mesmo com a réplica disponível
+        assertTrue(userService.findByEmail("routing@example.com").isPresent());
+    }
+}
@@ -1,12 +1,20 @@
 package com.assinaaqui.backend.controller;
 
+import com.assinaaqui.backend.config.AuthenticatedUser;
 import com.assinaaqui.backend.dto.SignRequest;
+import com.assinaaqui.backend.dto.SignResponse;
+import com.assinaaqui.backend.dto.SignatureCursor;
 import com.assinaaqui.backend.entity.Signature;
+import com.assinaaqui.backend.entity.SignedContent;
 import com.assinaaqui.backend.entity.User;
 import com.assinaaqui.backend.service.JwtService;
 import com.assinaaqui.backend.service.SignatureService;
 import com.assinaaqui.backend.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
@@ -14,14 +22,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -63,7 +74,7 @@ class SignatureControllerTest {
         testSignature = new Signature();
         testSignature.setId(UUID.randomUUID());
         testSignature.setUser(testUser);
-        testSignature.setOriginalText("Test document");
+        testSignature.setContent(new SignedContent("testhash", "Test document"));
         testSignature.setTextHash("testhash");
         testSignature.setSignature("testsignature");
         testSignature.setAlgorithm("SHA-256 with RSA");
@@ -72,15 +83,22 @@ class SignatureControllerTest {
         validToken = "valid-jwt-token";
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     void testSignText_ValidRequest() throws Exception {
         SignRequest signRequest = new SignRequest();
         signRequest.setText("Document to be signed");
         
-        when(jwtService.extractUsername(validToken)).thenReturn("test@example.com");
-        when(userService.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(jwtService.validateToken(validToken, "test@example.com")).thenReturn(true);
-        when(signatureService.signText(eq(testUser), eq("Document to be signed"))).thenReturn(testSignature);
+        Claims claims = Jwts.claims().setSubject("test@example.com");
+        when(jwtService.parseClaims(validToken)).thenReturn(claims);
+        when(jwtService.validateToken(claims, "test@example.com")).thenReturn(true);
+        when(userService.findAuthenticatedUser("test@example.com")).thenReturn(Optional.of(AuthenticatedUser.from(testUser)));
+        when(signatureService.signText(argThat(user -> user.getId().equals(1L)), eq("Document to be signed")))
+                .thenReturn(testSignature);
         
         mockMvc.perform(post("/signatures/sign")
                 .header("Authorization", "Bearer " + validToken)
@@ -91,6 +109,10 @@ class SignatureControllerTest {
                 .andExpect(jsonPath("$.hash").value("testhash"))
                 .andExpect(jsonPath("$.signature").value("testsignature"))
                 .andExpect(jsonPath("$.algorithm").value("SHA-256 with RSA"));
+        
+        // Token e usuário resolvidos uma única vez, no filtro
+        verify(jwtService, times(1)).parseClaims(validToken);
+        verify(userService, times(1)).findAuthenticatedUser("test@example.com");
     }
 
     @Test
@@ -101,7 +123,8 @@ class SignatureControllerTest {
         mockMvc.perform(post("/signatures/sign")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(signRequest)))
-                .andExpect(status().isBadRequest());
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error").value("Usuário não autenticado"));
     }
 
     @Test
@@ -109,16 +132,16 @@ class SignatureControllerTest {
         SignRequest signRequest = new SignRequest();
         signRequest.setText("Document to be signed");
         
-        when(jwtService.extractUsername("invalid-token")).thenReturn("test@example.com");
-        when(userService.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(jwtService.validateToken("invalid-token", "test@example.com")).thenReturn(false);
+        when(jwtService.parseClaims("invalid-token")).thenThrow(new JwtException("Assinatura do token inválida"));
         
         mockMvc.perform(post("/signatures/sign")
                 .header("Authorization", "Bearer invalid-token")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(signRequest)))
                 .andExpect(status().isUnauthorized())
-                .andExpect(jsonPath("$.error").value("Token inválido"));
+                .andExpect(jsonPath("$.error").value("Usuário não autenticado"));
+        
+        verify(userService, never()).findAuthenticatedUser(any());
     }
 
     @Test
@@ -126,14 +149,69 @@ class SignatureControllerTest {
         SignRequest signRequest = new SignRequest();
         signRequest.setText("Document to be signed");
         
-        when(jwtService.extractUsername(validToken)).thenReturn("nonexistent@example.com");
-        when(userService.findByEmail("nonexistent@example.com")).thenReturn(Optional.empty());
+        Claims claims = Jwts.claims().setSubject("nonexistent@example.com");
+        when(jwtService.parseClaims(validToken)).thenReturn(claims);
+        when(jwtService.validateToken(claims, "nonexistent@example.com")).thenReturn(true);
+        when(userService.findAuthenticatedUser("nonexistent@example.com")).thenReturn(Optional.empty());
         
         mockMvc.perform(post("/signatures/sign")
                 .header("Authorization", "Bearer " + validToken)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(signRequest)))
                 .andExpect(status().isUnauthorized())
-                .andExpect(jsonPath("$.error").value("Usuário não encontrado"));
+                .andExpect(jsonPath("$.error").value("Usuário não autenticado"));
+    }
+
+    private void authenticate() {
+        Claims claims = Jwts.claims().setSubject("test@example.com");
+        when(jwtService.parseClaims(validToken)).thenReturn(claims);
+        when(jwtService.validateToken(claims, "test@example.com")).thenReturn(true);
+        when(userService.findAuthenticatedUser("test@example.com")).thenReturn(Optional.of(AuthenticatedUser.from(testUser)));
+    }
+
+    @Test
+    void testMySignatures_FirstPageWithNextCursor() throws Exception {
+        authenticate();
+        LocalDateTime now = LocalDateTime.now();
+        SignResponse first = new SignResponse(UUID.randomUUID(), "hash1", "sig1", "SHA-256 with RSA", now);
+        SignResponse second = new SignResponse(UUID.randomUUID(), "hash2", "sig2", "SHA-256 with RSA", now.minusMinutes(1));
+        SignResponse third = new SignResponse(UUID.randomUUID(), "hash3", "sig3", "SHA-256 with RSA", now.minusMinutes(2));
+        when(signatureService.findSignaturePage(1L, null, 3)).thenReturn(List.of(first, second, third));
+
+        mockMvc.perform(get("/signatures/my-signatures")
+                .param("limit", "2")
+                .header("Authorization", "Bearer " + validToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].hash").value("hash2"))
+                .andExpect(header().string("X-Next-Cursor", SignatureCursor.after(second).encode()));
+    }
+
+    @Test
+    void testMySignatures_LastPageHasNoCursor() throws Exception {
+        authenticate();
+        SignResponse only = new SignResponse(UUID.randomUUID(), "hash1", "sig1", "SHA-256 with RSA", LocalDateTime.now());
+        String cursor = new SignatureCursor(LocalDateTime.now(), UUID.randomUUID()).encode();
+        when(signatureService.findSignaturePage(eq(1L), argThat(after -> after != null), eq(51))).thenReturn(List.of(only));
+
+        mockMvc.perform(get("/signatures/my-signatures")
+                .param("cursor", cursor)
+                .header("Authorization", "Bearer " + validToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void testMySignatures_InvalidCursor() throws Exception {
+        authenticate();
+
+        mockMvc.perform(get("/signatures/my-signatures")
+                .param("cursor", "not-a-cursor")
+                .header("Authorization", "Bearer " + validToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Cursor inválido"));
+
+        verify(signatureService, never()).findSignaturePage(any(), any(), anyInt());
     }
-}
\ No newline at end of file
+}
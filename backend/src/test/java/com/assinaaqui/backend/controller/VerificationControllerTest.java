@@ -1,11 +1,16 @@
 package com.assinaaqui.backend.controller;
 
+import com.assinaaqui.backend.dto.BatchVerifyRequest;
 import com.assinaaqui.backend.entity.Signature;
+import com.assinaaqui.backend.entity.SignedContent;
 import com.assinaaqui.backend.entity.User;
 import com.assinaaqui.backend.service.JwtService;
 import com.assinaaqui.backend.service.SignatureService;
 import com.assinaaqui.backend.service.UserService;
+import com.assinaaqui.backend.service.VerificationCounter;
 import com.assinaaqui.backend.service.VerificationLogService;
+import com.assinaaqui.backend.service.VerificationResultCache;
+import com.assinaaqui.backend.service.VerificationResultCache.VerificationSnapshot;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,9 +25,11 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
@@ -41,6 +48,12 @@ class VerificationControllerTest {
     @MockBean
     private VerificationLogService verificationLogService;
 
+    @MockBean
+    private VerificationCounter verificationCounter;
+
+    @MockBean
+    private VerificationResultCache verificationResultCache;
+
     @MockBean
     private JwtService jwtService;
 
@@ -69,18 +82,22 @@ class VerificationControllerTest {
         testSignature = new Signature();
         testSignature.setId(signatureId);
         testSignature.setUser(testUser);
-        testSignature.setOriginalText("Test document for verification");
+        testSignature.setContent(new SignedContent("abcdef1234567890", "Test document for verification"));
         testSignature.setTextHash("abcdef1234567890");
         testSignature.setSignature("validSignatureValue");
         testSignature.setAlgorithm("SHA-256 with RSA");
         testSignature.setCreatedAt(LocalDateTime.now());
     }
 
+    private VerificationSnapshot snapshot(boolean isValid) {
+        return new VerificationSnapshot(signatureId, isValid, 1L, "Test User",
+                "SHA-256 with RSA", testSignature.getCreatedAt(), "Test document for verification");
+    }
+
     @Test
     void testVerifySignatureById_ValidSignature() throws Exception {
-        when(signatureService.findById(signatureId)).thenReturn(Optional.of(testSignature));
-        when(signatureService.verifySignature(testSignature)).thenReturn(true);
-        when(verificationLogService.countBySignature(testSignature)).thenReturn(5L);
+        when(verificationResultCache.verify(signatureId)).thenReturn(Optional.of(snapshot(true)));
+        when(verificationResultCache.currentCount(any())).thenReturn(5L);
         
         mockMvc.perform(get("/verify/" + signatureId))
                 .andExpect(status().isOk())
@@ -95,9 +112,8 @@ class VerificationControllerTest {
 
     @Test
     void testVerifySignatureById_InvalidSignature() throws Exception {
-        when(signatureService.findById(signatureId)).thenReturn(Optional.of(testSignature));
-        when(signatureService.verifySignature(testSignature)).thenReturn(false);
-        when(verificationLogService.countBySignature(testSignature)).thenReturn(3L);
+        when(verificationResultCache.verify(signatureId)).thenReturn(Optional.of(snapshot(false)));
+        when(verificationResultCache.currentCount(any())).thenReturn(3L);
         
         mockMvc.perform(get("/verify/" + signatureId))
                 .andExpect(status().isOk())
@@ -108,7 +124,7 @@ class VerificationControllerTest {
     @Test
     void testVerifySignatureById_NotFound() throws Exception {
         UUID nonExistentId = UUID.randomUUID();
-        when(signatureService.findById(nonExistentId)).thenReturn(Optional.empty());
+        when(verificationResultCache.verify(nonExistentId)).thenReturn(Optional.empty());
         
         mockMvc.perform(get("/verify/" + nonExistentId))
                 .andExpect(status().isNotFound())
@@ -127,8 +143,9 @@ class VerificationControllerTest {
         when(signatureService.verifySignatureByText(
                 eq("Test document for verification"), 
                 eq("validSignatureValue"), 
-                eq("testPublicKey"))).thenReturn(true);
-        when(verificationLogService.countBySignature(testSignature)).thenReturn(2L);
+                eq("testPublicKey"),
+                eq("SHA-256 with RSA"))).thenReturn(true);
+        when(verificationCounter.recordAndGet(testSignature)).thenReturn(2L);
         
         mockMvc.perform(post("/verify/text")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -151,8 +168,9 @@ class VerificationControllerTest {
         when(signatureService.verifySignatureByText(
                 eq("Test document for verification"), 
                 eq("tamperedSignatureValue"), 
-                eq("testPublicKey"))).thenReturn(false);
-        when(verificationLogService.countBySignature(testSignature)).thenReturn(1L);
+                eq("testPublicKey"),
+                eq("SHA-256 with RSA"))).thenReturn(false);
+        when(verificationCounter.recordAndGet(testSignature)).thenReturn(1L);
         
         mockMvc.perform(post("/verify/text")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -191,4 +209,35 @@ class VerificationControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.error").value("Assinatura não encontrada no sistema"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testVerifyBatch_NullListsReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/verify/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": null}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+
+        mockMvc.perform(post("/verify/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\": null}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    @Test
+    void testVerifyBatch_EmptyOrOversizedRequestReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/verify/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+
+        BatchVerifyRequest oversized = new BatchVerifyRequest(
+                Stream.generate(UUID::randomUUID).limit(1001).toList(), List.of());
+        mockMvc.perform(post("/verify/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(oversized)))
+                .andExpect(status().isBadRequest());
+    }
+}
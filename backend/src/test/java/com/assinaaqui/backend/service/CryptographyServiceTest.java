@@ -1,9 +1,12 @@
 package com.assinaaqui.backend.service;
 
+import com.assinaaqui.backend.entity.KeyAlgorithm;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.security.PrivateKey;
+import java.util.Base64;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -45,6 +48,22 @@ class CryptographyServiceTest {
         assertNotEquals(hash, differentHash);
     }
 
+    @Test
+    void testCalculateSHA256Hash_KnownVector() {
+        String hash = cryptographyService.calculateSHA256Hash("Hello, World!");
+        assertEquals("dffd6021bb2bd5b0af676290809ec3a53191dd81c7f70a4b28688a362182986f", hash);
+
+        byte[] digest = cryptographyService.calculateSHA256Digest("Hello, World!");
+        assertEquals(32, digest.length);
+        assertEquals(hash, CryptographyService.encodeHex(digest));
+    }
+
+    @Test
+    void testEncodeHex() {
+        assertEquals("", CryptographyService.encodeHex(new byte[0]));
+        assertEquals("000f10ff7f80", CryptographyService.encodeHex(new byte[]{0x00, 0x0f, 0x10, (byte) 0xff, 0x7f, (byte) 0x80}));
+    }
+
     @Test
     void testSignAndVerifyHash_ValidSignature() {
         // Gerar par de chaves
@@ -87,6 +106,42 @@ class CryptographyServiceTest {
         assertFalse(isValid, "Assinatura alterada deve ser verificada como falsa");
     }
 
+    @Test
+    void testSignAndVerifyHash_EllipticCurveAlgorithms() {
+        String hash = cryptographyService.calculateSHA256Hash("Documento assinado com curva elíptica");
+
+        for (KeyAlgorithm algorithm : new KeyAlgorithm[]{KeyAlgorithm.EC_P256, KeyAlgorithm.ED25519}) {
+            Map<String, String> keyPair = cryptographyService.generateKeyPair(algorithm);
+            String signature = cryptographyService.signHash(hash, keyPair.get("privateKey"), algorithm);
+
+            assertTrue(cryptographyService.verifySignature(hash, signature, keyPair.get("publicKey"), algorithm),
+                    "Assinatura " + algorithm + " válida deve ser verificada como verdadeira");
+
+            String otherHash = cryptographyService.calculateSHA256Hash("Documento alterado");
+            assertFalse(cryptographyService.verifySignature(otherHash, signature, keyPair.get("publicKey"), algorithm),
+                    "Assinatura " + algorithm + " de outro hash deve ser verificada como falsa");
+        }
+    }
+
+    @Test
+    void testVerifySignature_TamperedEcdsaSignatureIsInvalid() {
+        Map<String, String> keyPair = cryptographyService.generateKeyPair(KeyAlgorithm.EC_P256);
+        String hash = cryptographyService.calculateSHA256Hash("Documento ECDSA");
+        String signature = cryptographyService.signHash(hash, keyPair.get("privateKey"), KeyAlgorithm.EC_P256);
+
+        // Bytes aleatórios não formam um DER válido para ECDSA: resultado falso, sem exceção
+        String tamperedSignature = Base64.getEncoder().encodeToString(new byte[signature.length()]);
+        assertFalse(cryptographyService.verifySignature(hash, tamperedSignature, keyPair.get("publicKey"), KeyAlgorithm.EC_P256));
+    }
+
+    @Test
+    void testKeyAlgorithmFromLabel() {
+        assertEquals(KeyAlgorithm.RSA, KeyAlgorithm.fromLabel("SHA-256 with RSA"));
+        assertEquals(KeyAlgorithm.EC_P256, KeyAlgorithm.fromLabel(KeyAlgorithm.EC_P256.getLabel()));
+        assertEquals(KeyAlgorithm.ED25519, KeyAlgorithm.fromLabel(KeyAlgorithm.ED25519.getLabel()));
+        assertThrows(IllegalArgumentException.class, () -> KeyAlgorithm.fromLabel("MD5 with RSA"));
+    }
+
     @Test
     void testSignAndVerifyText_ValidSignature() {
         // Gerar par de chaves
@@ -146,4 +201,89 @@ class CryptographyServiceTest {
         boolean isValidCorrectKey = cryptographyService.verifyText(text, signResult.get("signature"), keyPair1.get("publicKey"));
         assertTrue(isValidCorrectKey, "Assinatura verificada com chave pública correta deve ser verdadeira");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testParsedKeysAreCached() {
+        Map<String, String> keyPair = cryptographyService.generateKeyPair();
+        String publicKey = keyPair.get("publicKey");
+        String privateKey = keyPair.get("privateKey");
+
+        String hash = cryptographyService.calculateSHA256Hash("Cached key document");
+
+        // Primeira utilização decodifica as chaves, as seguintes reaproveitam o cache
+        String signature = cryptographyService.signHash(hash, privateKey);
+        cryptographyService.signHash(hash, privateKey);
+        assertTrue(cryptographyService.verifySignature(hash, signature, publicKey));
+        assertTrue(cryptographyService.verifySignature(hash, signature, publicKey));
+
+        Map<String, Long> stats = cryptographyService.getKeyCacheStatistics();
+        assertEquals(1L, stats.get("privateKeyMisses"));
+        assertEquals(1L, stats.get("privateKeyHits"));
+        assertEquals(1L, stats.get("publicKeyMisses"));
+        assertEquals(1L, stats.get("publicKeyHits"));
+        assertSame(cryptographyService.parsePublicKey(publicKey), cryptographyService.parsePublicKey(publicKey));
+    }
+
+    @Test
+    void testKeyCacheIsKeyedByFingerprint() {
+        Map<String, String> keyPair = cryptographyService.generateKeyPair();
+        String privateKey = keyPair.get("privateKey");
+
+        String fingerprint = cryptographyService.keyFingerprint(privateKey);
+        assertEquals(cryptographyService.calculateSHA256Hash(privateKey), fingerprint);
+
+        // Cópias iguais do texto, como as que cada leitura do usuário devolve, usam a mesma entrada
+        PrivateKey parsed = cryptographyService.parsePrivateKey(privateKey);
+        assertSame(parsed, cryptographyService.parsePrivateKey(new String(privateKey)));
+        assertEquals(1L, cryptographyService.getKeyCacheStatistics().get("privateKeyMisses"));
+    }
+
+    @Test
+    void testKeyCacheEvictsLeastRecentlyUsed() {
+        CryptographyService smallCacheService = new CryptographyService(1, 1);
+        Map<String, String> keyPair1 = smallCacheService.generateKeyPair();
+        Map<String, String> keyPair2 = smallCacheService.generateKeyPair();
+
+        smallCacheService.parsePublicKey(keyPair1.get("publicKey"));
+        smallCacheService.parsePublicKey(keyPair2.get("publicKey"));
+        smallCacheService.parsePublicKey(keyPair1.get("publicKey"));
+
+        Map<String, Long> stats = smallCacheService.getKeyCacheStatistics();
+        assertEquals(3L, stats.get("publicKeyMisses"));
+        assertEquals(2L, stats.get("publicKeyEvictions"));
+        assertEquals(1L, stats.get("publicKeySize"));
+    }
+
+    @Test
+    void testPooledSignersAreReusableAfterScrub() {
+        CryptographyService pooledService = new CryptographyService(10, 1);
+        for (KeyAlgorithm algorithm : KeyAlgorithm.values()) {
+            Map<String, String> keyPair1 = pooledService.generateKeyPair(algorithm);
+            Map<String, String> keyPair2 = pooledService.generateKeyPair(algorithm);
+            String hash = pooledService.calculateSHA256Hash("Scrubbed engine document");
+
+            // O mesmo motor ocioso é reaproveitado entre assinaturas com chaves diferentes
+            String signature1 = pooledService.signHash(hash, keyPair1.get("privateKey"), algorithm);
+            String signature2 = pooledService.signHash(hash, keyPair2.get("privateKey"), algorithm);
+
+            assertTrue(pooledService.verifySignature(hash, signature1, keyPair1.get("publicKey"), algorithm));
+            assertTrue(pooledService.verifySignature(hash, signature2, keyPair2.get("publicKey"), algorithm));
+            assertFalse(pooledService.verifySignature(hash, signature1, keyPair2.get("publicKey"), algorithm));
+        }
+    }
+
+    @Test
+    void testEnginePoolDiscardsEngineWhenResetFails() {
+        EnginePool<StringBuilder> pool = new EnginePool<>(StringBuilder::new, engine -> {
+            if (engine.length() > 0) {
+                throw new IllegalStateException("reset falhou");
+            }
+        }, 4);
+
+        pool.release(new StringBuilder());
+        assertEquals(1, pool.idleCount());
+
+        pool.release(new StringBuilder("sujo"));
+        assertEquals(1, pool.idleCount(), "Motor que não pôde ser reiniciado não volta ao pool");
+    }
+}
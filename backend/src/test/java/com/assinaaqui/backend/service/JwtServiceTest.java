@@ -0,0 +1,67 @@
+package com.assinaaqui.backend.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secret", "testSecretKeyForJWTTokenGenerationInTestEnvironment123456789");
+        ReflectionTestUtils.setField(jwtService, "expiration", 60000L);
+        jwtService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testGenerateAndValidateToken() {
+        String token = jwtService.generateToken("test@example.com");
+
+        assertEquals("test@example.com", jwtService.extractUsername(token));
+        assertTrue(jwtService.validateToken(token, "test@example.com"));
+        assertFalse(jwtService.validateToken(token, "other@example.com"));
+    }
+
+    @Test
+    void testTamperedTokenIsRejected() {
+        String token = jwtService.generateToken("test@example.com");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtService.parseClaims(tampered));
+    }
+
+    @Test
+    void testClaimsAreParsedOncePerRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        String token = jwtService.generateToken("test@example.com");
+
+        Claims first = jwtService.parseClaims(token);
+        Claims second = jwtService.parseClaims(token);
+
+        assertSame(first, second);
+        assertTrue(jwtService.validateToken(first, "test@example.com"));
+    }
+
+    @Test
+    void testClaimsAreNotSharedOutsideRequest() {
+        String token = jwtService.generateToken("test@example.com");
+
+        assertNotSame(jwtService.parseClaims(token), jwtService.parseClaims(token));
+    }
+}
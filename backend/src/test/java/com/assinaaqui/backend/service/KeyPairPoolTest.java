@@ -0,0 +1,93 @@
+package com.assinaaqui.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class KeyPairPoolTest {
+
+    @Mock
+    private CryptographyService cryptographyService;
+
+    private KeyPairPool pool;
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(cryptographyService.generateKeyPair()).thenAnswer(invocation -> {
+            int n = sequence.incrementAndGet();
+            return Map.of("publicKey", "public-" + n, "privateKey", "private-" + n);
+        });
+    }
+
+    private KeyPairPool newPool(int size, TaskExecutor executor) {
+        KeyPairPool keyPairPool = new KeyPairPool();
+        ReflectionTestUtils.setField(keyPairPool, "cryptographyService", cryptographyService);
+        ReflectionTestUtils.setField(keyPairPool, "keyPairExecutor", executor);
+        ReflectionTestUtils.setField(keyPairPool, "targetSize", size);
+        keyPairPool.start();
+        return keyPairPool;
+    }
+
+    @Test
+    void testPoolIsFilledOnStartAndRefilledAfterTake() {
+        pool = newPool(3, new SyncTaskExecutor());
+        assertEquals(3, pool.getReadyCount());
+
+        Map<String, String> keyPair = pool.take();
+
+        assertEquals("private-1", keyPair.get("privateKey"));
+        assertEquals(3, pool.getReadyCount());
+        assertEquals(1L, pool.getStatistics().get("pooled"));
+        assertEquals(0L, pool.getStatistics().get("inline"));
+    }
+
+    @Test
+    void testKeyPairsAreNeverHandedOutTwice() {
+        pool = newPool(2, new SyncTaskExecutor());
+
+        List<String> privateKeys = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            privateKeys.add(pool.take().get("privateKey"));
+        }
+
+        assertEquals(5, privateKeys.stream().distinct().count());
+    }
+
+    @Test
+    void testDrainedPoolFallsBackToInlineGeneration() {
+        // Executor que nunca executa: o pool fica vazio
+        pool = newPool(2, task -> { });
+        assertEquals(0, pool.getReadyCount());
+
+        Map<String, String> keyPair = pool.take();
+
+        assertNotNull(keyPair.get("privateKey"));
+        assertEquals(1L, pool.getStatistics().get("inline"));
+        verify(cryptographyService, times(1)).generateKeyPair();
+    }
+
+    @Test
+    void testDisabledPoolGeneratesInline() {
+        pool = newPool(0, new SyncTaskExecutor());
+
+        pool.take();
+        pool.take();
+
+        assertEquals(0, pool.getReadyCount());
+        assertEquals(2L, pool.getStatistics().get("inline"));
+    }
+}
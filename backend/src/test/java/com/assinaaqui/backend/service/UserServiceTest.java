@@ -0,0 +1,134 @@
+package com.assinaaqui.backend.service;
+
+import com.assinaaqui.backend.config.AuthenticatedUser;
+import com.assinaaqui.backend.entity.User;
+import com.assinaaqui.backend.event.UserKeysChangedEvent;
+import com.assinaaqui.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserService userService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(userService, "userCacheMaxSize", 10);
+        ReflectionTestUtils.setField(userService, "userCacheTtlSeconds", 60L);
+        userService.init();
+
+        user = new User();
+        user.setId(1L);
+        user.setName("Test User");
+        user.setEmail("test@example.com");
+        user.setPublicKey("testPublicKey");
+        user.setPrivateKey("testPrivateKey");
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void testAuthenticatedUserIsCached() {
+        AuthenticatedUser first = userService.findAuthenticatedUser("test@example.com").orElseThrow();
+        AuthenticatedUser second = userService.findAuthenticatedUser("test@example.com").orElseThrow();
+
+        assertSame(first, second);
+        assertEquals("testPrivateKey", second.getPrivateKey());
+        verify(userRepository, times(1)).findByEmail("test@example.com");
+
+        Map<String, Number> stats = userService.getUserCacheStatistics();
+        assertEquals(1L, stats.get("hits"));
+        assertEquals(1L, stats.get("misses"));
+        assertEquals(0.5, stats.get("hitRatio"));
+    }
+
+    @Test
+    void testUnknownUserIsNotCached() {
+        when(userRepository.findByEmail("unknown@example.com")).thenReturn(Optional.empty());
+
+        assertTrue(userService.findAuthenticatedUser("unknown@example.com").isEmpty());
+        assertTrue(userService.findAuthenticatedUser("unknown@example.com").isEmpty());
+        verify(userRepository, times(2)).findByEmail("unknown@example.com");
+    }
+
+    @Test
+    void testKeyChangeAndEvictionReloadUser() {
+        userService.findAuthenticatedUser("test@example.com");
+
+        userService.onUserKeysChanged(new UserKeysChangedEvent(1L));
+        userService.findAuthenticatedUser("test@example.com");
+
+        userService.evictAuthenticatedUser("test@example.com");
+        userService.findAuthenticatedUser("test@example.com");
+
+        verify(userRepository, times(3)).findByEmail("test@example.com");
+    }
+
+    @Test
+    void testEvictionDuringLoadDoesNotCacheStaleUser() {
+        User rotated = new User();
+        rotated.setId(1L);
+        rotated.setName("Test User");
+        rotated.setEmail("test@example.com");
+        rotated.setPublicKey("newPublicKey");
+        rotated.setPrivateKey("newPrivateKey");
+
+        // A troca de chaves acontece enquanto a leitura antiga ainda está em andamento
+        when(userRepository.findByEmail("test@example.com"))
+            .thenAnswer(invocation -> {
+                userService.onUserKeysChanged(new UserKeysChangedEvent(1L));
+                return Optional.of(user);
+            })
+            .thenReturn(Optional.of(rotated));
+
+        assertEquals("testPrivateKey", userService.findAuthenticatedUser("test@example.com").orElseThrow().getPrivateKey());
+        assertEquals("newPrivateKey", userService.findAuthenticatedUser("test@example.com").orElseThrow().getPrivateKey());
+        assertEquals("newPrivateKey", userService.findAuthenticatedUser("test@example.com").orElseThrow().getPrivateKey());
+        verify(userRepository, times(2)).findByEmail("test@example.com");
+    }
+
+    @Test
+    void testEvictionOnAnotherThreadDuringLoadDoesNotCacheStaleUser() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        when(userRepository.findByEmail("test@example.com")).thenAnswer(invocation -> {
+            loading.countDown();
+            assertTrue(evicted.await(5, TimeUnit.SECONDS));
+            return Optional.of(user);
+        });
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Optional<AuthenticatedUser>> load = executor.submit(() -> userService.findAuthenticatedUser("test@example.com"));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            userService.evictAuthenticatedUser("test@example.com");
+            evicted.countDown();
+            assertTrue(load.get(5, TimeUnit.SECONDS).isPresent());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, userService.getUserCacheStatistics().get("size"));
+    }
+}
@@ -0,0 +1,181 @@
+package com.assinaaqui.backend.service;
+
+import com.assinaaqui.backend.entity.Signature;
+import com.assinaaqui.backend.repository.SignatureRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class VerificationCounterTest {
+
+    @Mock
+    private SignatureRepository signatureRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private VerificationCounter counter;
+
+    private Signature signature;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        signature = new Signature();
+        signature.setId(UUID.randomUUID());
+        signature.setVerificationCount(10L);
+    }
+
+    @Test
+    void testCountIncludesUnflushedIncrements() {
+        persistedCount(10L);
+
+        assertEquals(11L, counter.recordAndGet(signature));
+        assertEquals(12L, counter.recordAndGet(signature));
+        assertEquals(12L, counter.current(signature));
+        verify(signatureRepository, never()).incrementVerificationCount(any(), anyLong());
+    }
+
+    @Test
+    void testFlushWritesAccumulatedDelta() {
+        persistedCount(10L);
+        counter.record(signature.getId());
+        counter.record(signature.getId());
+        counter.record(signature.getId());
+
+        persistedCount(13L);
+        counter.flush();
+
+        verify(signatureRepository).incrementVerificationCount(signature.getId(), 3L);
+        assertEquals(0, counter.getPendingSignatures());
+        // Depois da gravação o total passa a vir só da coluna
+        assertEquals(13L, counter.current(signature));
+    }
+
+    @Test
+    void testFailedFlushKeepsIncrementsForRetry() {
+        persistedCount(10L);
+        when(signatureRepository.incrementVerificationCount(eq(signature.getId()), anyLong()))
+            .thenThrow(new RuntimeException("falha"));
+        counter.record(signature.getId());
+
+        counter.flush();
+
+        assertEquals(1, counter.getPendingSignatures());
+        assertEquals(11L, counter.current(signature));
+    }
+
+    @Test
+    void testReadOverlappingFlushIsRetried() {
+        counter.record(signature.getId());
+        counter.record(signature.getId());
+
+        // A gravação termina depois da leitura da coluna (ainda com o valor antigo) e antes de
+        // somar os incrementos locais: sem releitura o total perderia os dois incrementos
+        AtomicInteger reads = new AtomicInteger();
+        when(signatureRepository.findVerificationCountsByIdIn(any())).thenAnswer(invocation -> {
+            if (reads.incrementAndGet() == 1) {
+                counter.flush();
+                return rows(10L);
+            }
+            return rows(12L);
+        });
+
+        assertEquals(12L, counter.current(signature));
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    void testBatchCountsUseOneRead() {
+        UUID otherId = UUID.randomUUID();
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{signature.getId(), 10L});
+        rows.add(new Object[]{otherId, 5L});
+        when(signatureRepository.findVerificationCountsByIdIn(any())).thenReturn(rows);
+        counter.record(otherId);
+
+        Map<UUID, Long> totals = counter.current(Set.of(signature.getId(), otherId));
+
+        assertEquals(Map.of(signature.getId(), 10L, otherId, 6L), totals);
+        verify(signatureRepository, times(1)).findVerificationCountsByIdIn(any());
+    }
+
+    @Test
+    void testRepeatedReadsReuseColumnValue() {
+        enableColumnCache();
+        persistedCount(10L);
+
+        assertEquals(11L, counter.recordAndGet(signature));
+        assertEquals(12L, counter.recordAndGet(signature));
+        assertEquals(13L, counter.recordAndGet(signature));
+
+        verify(signatureRepository, times(1)).findVerificationCountsByIdIn(any());
+        assertEquals(2L, counter.getColumnCacheStatistics().get("hits"));
+    }
+
+    @Test
+    void testFlushDiscardsReusedColumnValue() {
+        enableColumnCache();
+        persistedCount(10L);
+        assertEquals(11L, counter.recordAndGet(signature));
+
+        persistedCount(11L);
+        counter.flush();
+
+        // Sem descartar, o valor antigo da coluna somado a "pending" vazio perderia o incremento
+        assertEquals(11L, counter.current(signature));
+        verify(signatureRepository, times(2)).findVerificationCountsByIdIn(any());
+    }
+
+    @Test
+    void testBatchReadsOnlyMissingColumnValues() {
+        enableColumnCache();
+        persistedCount(10L);
+        counter.current(signature);
+
+        UUID otherId = UUID.randomUUID();
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{otherId, 5L});
+        when(signatureRepository.findVerificationCountsByIdIn(any())).thenReturn(rows);
+
+        Map<UUID, Long> totals = counter.current(Set.of(signature.getId(), otherId));
+
+        assertEquals(Map.of(signature.getId(), 10L, otherId, 5L), totals);
+        verify(signatureRepository).findVerificationCountsByIdIn(List.of(otherId));
+    }
+
+    private void enableColumnCache() {
+        ReflectionTestUtils.setField(counter, "columnTtlMs", 60_000L);
+        ReflectionTestUtils.setField(counter, "columnCacheMaxSize", 100);
+        counter.start();
+    }
+
+    private void persistedCount(long count) {
+        when(signatureRepository.findVerificationCountsByIdIn(any())).thenReturn(rows(count));
+    }
+
+    private List<Object[]> rows(long count) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{signature.getId(), count});
+        return rows;
+    }
+}
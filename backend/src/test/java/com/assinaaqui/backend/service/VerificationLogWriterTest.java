@@ -0,0 +1,158 @@
+package com.assinaaqui.backend.service;
+
+import com.assinaaqui.backend.entity.Signature;
+import com.assinaaqui.backend.entity.VerificationLog;
+import com.assinaaqui.backend.repository.SignatureRepository;
+import com.assinaaqui.backend.repository.VerificationLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class VerificationLogWriterTest {
+
+    @Mock
+    private VerificationLogRepository verificationLogRepository;
+
+    @Mock
+    private SignatureRepository signatureRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private VerificationLogWriter writer;
+
+    private UUID signatureId;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        signatureId = UUID.randomUUID();
+        Signature signature = new Signature();
+        signature.setId(signatureId);
+        when(signatureRepository.getReferenceById(signatureId)).thenReturn(signature);
+
+        ReflectionTestUtils.setField(writer, "asyncEnabled", true);
+        ReflectionTestUtils.setField(writer, "queueCapacity", 2);
+        ReflectionTestUtils.setField(writer, "batchSize", 10);
+        ReflectionTestUtils.setField(writer, "flushIntervalMs", 50L);
+        ReflectionTestUtils.setField(writer, "offerTimeoutMs", 1L);
+    }
+
+    @Test
+    void testQueuedVerificationsAreCountedAndFlushedOnStop() {
+        // Sem iniciar a thread de fundo, os registros ficam na fila
+        ReflectionTestUtils.setField(writer, "queue", new ArrayBlockingQueue<>(2));
+
+        writer.submit(signatureId, "127.0.0.1", "JUnit", true);
+        writer.submit(signatureId, "127.0.0.1", "JUnit", true);
+        writer.submit(signatureId, "127.0.0.1", "JUnit", false);
+
+        assertEquals(2, writer.getEnqueued());
+        assertEquals(1, writer.getDropped());
+        assertEquals(Map.of(signatureId, 2L), writer.pendingCounts(Set.of(signatureId)));
+        verifyNoInteractions(verificationLogRepository);
+
+        writer.stop();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<VerificationLog>> captor = ArgumentCaptor.forClass(List.class);
+        verify(verificationLogRepository).saveAll(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertNotNull(captor.getValue().get(0).getVerifiedAt());
+        assertEquals(2, writer.getWritten());
+        assertEquals(0, writer.getQueueDepth());
+    }
+
+    @Test
+    void testBackgroundFlusherWritesBatches() throws Exception {
+        writer.start();
+
+        writer.submit(signatureId, "127.0.0.1", "JUnit", true);
+        writer.submit(signatureId, "127.0.0.1", "JUnit", true);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (writer.getWritten() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        writer.stop();
+
+        assertEquals(2, writer.getWritten());
+        verify(verificationLogRepository, atLeastOnce()).saveAll(any());
+    }
+
+    @Test
+    void testSynchronousModeWritesImmediately() {
+        ReflectionTestUtils.setField(writer, "asyncEnabled", false);
+        writer.start();
+
+        writer.submit(signatureId, "127.0.0.1", "JUnit", true);
+
+        verify(verificationLogRepository).saveAll(any());
+        assertEquals(1, writer.getWritten());
+        assertTrue(writer.pendingCounts(Set.of(signatureId)).isEmpty());
+    }
+
+    @Test
+    void testOversizedClientValuesAreTruncated() {
+        VerificationLogWriter.PendingVerification verification = new VerificationLogWriter.PendingVerification(
+                signatureId, "1".repeat(100), "A".repeat(5000), true, LocalDateTime.now());
+
+        assertEquals(VerificationLog.IP_ADDRESS_MAX_LENGTH, verification.ipAddress().length());
+        assertEquals(VerificationLog.USER_AGENT_MAX_LENGTH, verification.userAgent().length());
+        assertEquals("JUnit", new VerificationLogWriter.PendingVerification(
+                signatureId, "127.0.0.1", "JUnit", true, LocalDateTime.now()).userAgent());
+    }
+
+    @Test
+    void testFailedBatchIsRetriedRowByRow() {
+        // Sem iniciar a thread de fundo, os registros ficam na fila até o stop
+        ReflectionTestUtils.setField(writer, "queue", new ArrayBlockingQueue<>(10));
+
+        UUID deletedSignatureId = UUID.randomUUID();
+        Signature deletedSignature = new Signature();
+        deletedSignature.setId(deletedSignatureId);
+        when(signatureRepository.getReferenceById(deletedSignatureId)).thenReturn(deletedSignature);
+
+        // Qualquer lote que contenha o registro inválido falha, como uma violação de chave estrangeira
+        List<VerificationLog> saved = new ArrayList<>();
+        when(verificationLogRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<VerificationLog> logs = invocation.getArgument(0);
+            if (logs.stream().anyMatch(log -> log.getSignature().getId().equals(deletedSignatureId))) {
+                throw new DataIntegrityViolationException("FK signature_id");
+            }
+            saved.addAll(logs);
+            return logs;
+        });
+
+        writer.submit(signatureId, "127.0.0.1", "JUnit", true);
+        writer.submit(deletedSignatureId, "127.0.0.1", "B".repeat(5000), true);
+        writer.submit(signatureId, "127.0.0.1", "JUnit", false);
+
+        writer.stop();
+
+        assertEquals(2, saved.size());
+        assertTrue(saved.stream().allMatch(log -> log.getSignature().getId().equals(signatureId)));
+        assertEquals(2, writer.getWritten());
+        assertEquals(1, writer.getFailed());
+    }
+}
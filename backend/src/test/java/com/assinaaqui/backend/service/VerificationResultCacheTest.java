@@ -0,0 +1,101 @@
+package com.assinaaqui.backend.service;
+
+import com.assinaaqui.backend.entity.Signature;
+import com.assinaaqui.backend.entity.User;
+import com.assinaaqui.backend.event.UserKeysChangedEvent;
+import com.assinaaqui.backend.service.VerificationResultCache.VerificationSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class VerificationResultCacheTest {
+
+    @Mock
+    private SignatureService signatureService;
+
+    @Mock
+    private VerificationCounter verificationCounter;
+
+    private VerificationResultCache cache;
+    private Signature signature;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        cache = new VerificationResultCache(10, 300);
+        ReflectionTestUtils.setField(cache, "signatureService", signatureService);
+        ReflectionTestUtils.setField(cache, "verificationCounter", verificationCounter);
+
+        User user = new User();
+        user.setId(7L);
+        user.setName("Test User");
+        user.setPublicKey("testPublicKey");
+
+        signature = new Signature();
+        signature.setId(UUID.randomUUID());
+        signature.setUser(user);
+        signature.setAlgorithm("SHA-256 with RSA");
+        signature.setCreatedAt(LocalDateTime.now());
+        signature.setVerificationCount(4L);
+
+        when(signatureService.findById(signature.getId())).thenReturn(Optional.of(signature));
+        when(signatureService.verifySignature(signature)).thenReturn(true);
+    }
+
+    @Test
+    void testRepeatedVerificationSkipsLoadAndRsa() {
+        VerificationSnapshot first = cache.verify(signature.getId()).orElseThrow();
+        VerificationSnapshot second = cache.verify(signature.getId()).orElseThrow();
+
+        assertSame(first, second);
+        assertTrue(second.isValid());
+        verify(signatureService, times(1)).findById(signature.getId());
+        verify(signatureService, times(1)).verifySignature(signature);
+    }
+
+    @Test
+    void testMissingSignatureIsNotCached() {
+        UUID unknownId = UUID.randomUUID();
+        when(signatureService.findById(unknownId)).thenReturn(Optional.empty());
+
+        assertTrue(cache.verify(unknownId).isEmpty());
+        assertTrue(cache.verify(unknownId).isEmpty());
+        verify(signatureService, times(2)).findById(unknownId);
+    }
+
+    @Test
+    void testKeyChangeInvalidatesUserEntries() {
+        cache.verify(signature.getId());
+
+        cache.onUserKeysChanged(new UserKeysChangedEvent(99L));
+        cache.verify(signature.getId());
+        verify(signatureService, times(1)).verifySignature(signature);
+
+        cache.onUserKeysChanged(new UserKeysChangedEvent(7L));
+        cache.verify(signature.getId());
+        verify(signatureService, times(2)).verifySignature(signature);
+    }
+
+    @Test
+    void testCountIsReadFromCounterOnEveryHit() {
+        when(verificationCounter.current(signature.getId())).thenReturn(4L, 7L);
+
+        VerificationSnapshot snapshot = cache.verify(signature.getId()).orElseThrow();
+        assertEquals(4L, cache.currentCount(snapshot));
+
+        // Incrementos gravados por qualquer réplica aparecem sem esperar a entrada expirar
+        snapshot = cache.verify(signature.getId()).orElseThrow();
+        assertEquals(7L, cache.currentCount(snapshot));
+        verify(signatureService, times(1)).findById(signature.getId());
+    }
+}
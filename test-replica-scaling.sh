@@ -0,0 +1,60 @@
+#!/bin/bash
+# Measures backend throughput with 1, 2 and 3 replicas sharing the PostgreSQL database.
+# Requires: the stack deployed with ./deploy-swarm.sh, curl, jq and hey (https://github.com/rakyll/hey).
+#
+# Usage: ./test-replica-scaling.sh [requests] [concurrency]
+
+set -e
+
+REQUESTS=${1:-5000}
+CONCURRENCY=${2:-100}
+BASE_URL="http://localhost/api"
+
+for tool in curl jq hey; do
+    if ! command -v "$tool" > /dev/null; then
+        echo "Required tool not found: $tool"
+        exit 1
+    fi
+done
+
+echo "=== Backend Replica Scaling Test ==="
+
+EMAIL="scaling-$(date +%s)@example.com"
+TOKEN=$(curl -s -X POST "$BASE_URL/auth/register" \
+    -H "Content-Type: application/json" \
+    -d "{\"name\":\"Scaling\",\"email\":\"$EMAIL\",\"password\":\"senha123\"}" | jq -r '.token')
+
+SIGNATURE_ID=$(curl -s -X POST "$BASE_URL/signatures/sign" \
+    -H "Content-Type: application/json" -H "Authorization: Bearer $TOKEN" \
+    -d '{"text":"Replica scaling document"}' | jq -r '.signatureId')
+
+echo "Signature $SIGNATURE_ID created"
+
+for replicas in 1 2 3; do
+    echo ""
+    echo "=== $replicas backend replica(s) ==="
+    docker service scale assina-aqui_backend=$replicas > /dev/null
+    # nginx resolves tasks.assina-aqui_backend only at startup
+    docker service update --force assina-aqui_frontend > /dev/null
+    sleep 15
+
+    echo "Checking that every replica sees the same signature:"
+    for i in {1..6}; do
+        echo -n "Request $i: "
+        curl -s -o /dev/null -w "%{http_code} " "$BASE_URL/verify/$SIGNATURE_ID"
+        curl -s "$BASE_URL/info/hostname" | jq -r '.containerID'
+    done
+
+    echo "--- GET /verify/{id} ---"
+    hey -n "$REQUESTS" -c "$CONCURRENCY" "$BASE_URL/verify/$SIGNATURE_ID" | grep -E "Requests/sec|Average|99%|\[2..\]|\[[45]..\]"
+
+    echo "--- POST /signatures/sign ---"
+    hey -n "$REQUESTS" -c "$CONCURRENCY" -m POST \
+        -H "Authorization: Bearer $TOKEN" -T "application/json" \
+        -d '{"text":"Replica scaling document"}' \
+        "$BASE_URL/signatures/sign" | grep -E "Requests/sec|Average|99%|\[2..\]|\[[45]..\]"
+done
+
+echo ""
+echo "Restoring 3 backend replicas"
+docker service scale assina-aqui_backend=3 > /dev/null